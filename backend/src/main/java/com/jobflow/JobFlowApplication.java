@@ -1,8 +1,18 @@
 package com.jobflow;
 
+import com.jobflow.jobs.search.SearchIndexProperties;
+import com.jobflow.jobs.service.JobStoreProperties;
 import com.jobflow.sources.adapters.AdzunaProperties;
 import com.jobflow.sources.adapters.NaukriProperties;
+import com.jobflow.sources.adapters.RemotiveProperties;
+import com.jobflow.sources.cache.SharedCacheProperties;
+import com.jobflow.sources.dedup.DedupProperties;
+import com.jobflow.sources.http.SourceHttpProperties;
 import com.jobflow.sources.ports.JobFetchPort;
+import com.jobflow.sources.query.QueryProperties;
+import com.jobflow.sources.resilience.ResilienceProperties;
+import com.jobflow.sources.service.OrchestratorProperties;
+import com.jobflow.sources.warmup.WarmerProperties;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -16,7 +26,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @SpringBootApplication(scanBasePackages = "com.jobflow")
-@EnableConfigurationProperties({ NaukriProperties.class,  AdzunaProperties.class })
+@EnableConfigurationProperties({ NaukriProperties.class,  AdzunaProperties.class, RemotiveProperties.class, OrchestratorProperties.class, SourceHttpProperties.class, ResilienceProperties.class, WarmerProperties.class, QueryProperties.class, SharedCacheProperties.class, JobStoreProperties.class, DedupProperties.class, SearchIndexProperties.class })
 @EnableScheduling
 public class JobFlowApplication {
 
@@ -114,14 +114,6 @@ public class AlertService {
         }
     }
 
-    private static Instant safeParse(String s) {
-        try {
-            return (s == null || s.isBlank()) ? null : Instant.parse(s);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
     private void handleOne(SavedSearch s) {
         try {
             var pref = preferenceService.getById(s.getPrefId());
@@ -153,17 +145,9 @@ public class AlertService {
                 // first time sending
                 newJobs = results.stream().limit(10).collect(Collectors.toList());
             } else {
+                long lastMs = last.toEpochMilli();
                 newJobs = results.stream()
-                        .filter(j -> {
-                            String postedAtStr = j.getPostedAt();
-                            if (postedAtStr == null || postedAtStr.isBlank()) return false;
-                            try {
-                                Instant p = Instant.parse(postedAtStr);
-                                return p.isAfter(last);
-                            } catch (Exception e) {
-                                return false;
-                            }
-                        })
+                        .filter(j -> j.getPostedAtMs() > lastMs) // undated jobs never count as new
                         .collect(Collectors.toList());
             }
 
@@ -0,0 +1,11 @@
+package com.jobflow.common.cache;
+
+/**
+ * Thrown to callers that were waiting on another caller's in-flight load
+ * and gave up (timeout, interrupt) before it finished.
+ */
+public class CacheLoadException extends RuntimeException {
+    public CacheLoadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,24 @@
+package com.jobflow.common.cache;
+
+/**
+ * Point-in-time counters for one {@link SimpleCache}.
+ * staleHits are also counted in hits; rejections are loads the admission policy chose not to keep.
+ */
+public record CacheStats(
+        String name,
+        long hits,
+        long staleHits,
+        long misses,
+        long loadFailures,
+        long evictions,
+        long expirations,
+        long rejections,
+        int entries,
+        long weight,
+        long maxWeight
+) {
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0d : (double) hits / total;
+    }
+}
@@ -0,0 +1,60 @@
+package com.jobflow.common.cache;
+
+/**
+ * Approximate per-key access counter (count-min sketch, 4 rows, counters capped at 15).
+ * All counters are halved once enough increments have been seen, so old popularity fades.
+ * Used by {@link SimpleCache} for TinyLFU-style admission.
+ */
+class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F };
+
+    private final byte[][] table;
+    private final int mask;
+    private final int resetAfter;
+    private int additions;
+
+    FrequencySketch(int expectedEntries) {
+        int width = Integer.highestOneBit(Math.max(16, expectedEntries * 4) - 1) << 1;
+        this.table = new byte[DEPTH][width];
+        this.mask = width - 1;
+        this.resetAfter = Math.max(64, expectedEntries * 10);
+    }
+
+    synchronized void increment(Object key) {
+        int h = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int idx = index(h, i);
+            if (table[i][idx] < MAX_COUNT) { table[i][idx]++; added = true; }
+        }
+        if (added && ++additions >= resetAfter) halve();
+    }
+
+    synchronized int frequency(Object key) {
+        int h = spread(key.hashCode());
+        int min = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) min = Math.min(min, table[i][index(h, i)]);
+        return min;
+    }
+
+    private void halve() {
+        for (byte[] row : table) {
+            for (int j = 0; j < row.length; j++) row[j] = (byte) (row[j] >>> 1);
+        }
+        additions /= 2;
+    }
+
+    private int index(int h, int row) {
+        int x = (h ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+        return (x ^ (x >>> 16)) & mask;
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x45d9f3b;
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,55 +1,480 @@
 package com.jobflow.common.cache;
 
 import java.time.Duration;
-import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
-public class SimpleCache<K,V> {
+/**
+ * Small in-process TTL cache.
+ *
+ * <p>Two TTLs: after {@code refreshAfter} (soft) an entry is stale but still served while one
+ * background reload replaces it; after {@code ttl} (hard) it is gone and the next caller loads
+ * synchronously. With refresh-ahead enabled, entries read recently are reloaded shortly before
+ * they go stale, so hot keys are never served cold. Without a soft TTL it behaves like a plain
+ * TTL cache.
+ *
+ * <p>Size is bounded by entry count and by total weight (e.g. number of cached jobs). Over the
+ * bound the least recently used entry is evicted, unless the newly loaded key has been requested
+ * less often than that victim (TinyLFU admission), in which case the new value is returned to the
+ * caller but not kept. Read hits take no lock: they are buffered and applied to the LRU order on
+ * the next write. Expired entries are swept in the background rather than only on read.
+ *
+ * <p>Values matching the {@code shortLived} predicate (e.g. incomplete results) go stale after the
+ * short TTL instead, so the next read replaces them. With {@code loadedAt}, TTLs count from when a
+ * value was actually fetched (e.g. by another cache it was copied from) rather than from the store.
+ */
+public class SimpleCache<K,V> implements AutoCloseable {
+
+    // reads recorded since the last drain; beyond this further reads are not recorded (lossy LRU)
+    private static final int READ_BUFFER_MAX = 1024;
+
+    // one daemon thread shared by all caches for expiry sweeps / refresh-ahead scans
+    private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "cache-sweeper");
+        t.setDaemon(true);
+        return t;
+    });
 
     private static class Entry<V> {
         final V value;
-        final Instant expiresAt;
-        Entry(V v, Instant ea) { this.value = v; this.expiresAt = ea; }
+        final int weight;
+        final long refreshAtMs;  // soft TTL: serve, but reload in background
+        final long expiresAtMs;  // hard TTL: no longer served
+        final Supplier<V> loader; // how to reload it (null for plain put)
+        volatile long lastAccessMs;
+        Entry(V v, int weight, long refreshAtMs, long expiresAtMs, Supplier<V> loader) {
+            this.value = v; this.weight = weight; this.refreshAtMs = refreshAtMs; this.expiresAtMs = expiresAtMs; this.loader = loader;
+            this.lastAccessMs = System.currentTimeMillis();
+        }
     }
 
     private final Map<K, Entry<V>> store = new ConcurrentHashMap<>();
+    // eviction order (least recently used first); all structural changes happen under this lock
+    private final LinkedHashMap<K, Entry<V>> lru = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight; // guarded by lru
+    // read hits are queued here without locking and replayed into lru order on the next write
+    private final Queue<K> readBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger readBuffered = new AtomicInteger();
+    // single-flight: one pending load per key, shared by every caller that misses meanwhile
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final FrequencySketch sketch;
+
+    private final String name;
     private final Duration ttl;
-    private final int maxEntries; // optional soft bound
+    private final Duration refreshAfter;      // null = no stale-while-revalidate
+    private final Duration refreshAhead;      // null = no refresh-ahead
+    private final Duration refreshIfReadWithin;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToIntFunction<V> weigher;
+    private final Predicate<V> shortLived;     // null = every value gets the regular TTLs
+    private final Duration shortTtl;
+    private final ToLongFunction<V> loadedAt;  // null = values are as old as their store
+    private final ScheduledExecutorService background; // null unless refresh is enabled
+    private final ScheduledFuture<?> maintenance;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
 
     public SimpleCache(Duration ttl) { this(ttl, 1000); }
     public SimpleCache(Duration ttl, int maxEntries) {
-        this.ttl = ttl;
-        this.maxEntries = maxEntries;
+        this(SimpleCache.<K, V>builder(ttl).maxEntries(maxEntries));
     }
 
+    private SimpleCache(Builder<K, V> b) {
+        this.name = b.name == null ? "cache" : b.name;
+        this.ttl = b.ttl;
+        this.maxEntries = Math.max(1, b.maxEntries);
+        this.weigher = b.weigher == null ? v -> 1 : b.weigher;
+        this.maxWeight = b.weigher == null ? this.maxEntries : Math.max(1, b.maxWeight);
+        this.refreshAfter = b.refreshAfter;
+        this.refreshAhead = b.refreshAhead;
+        this.refreshIfReadWithin = b.refreshIfReadWithin;
+        this.shortLived = b.shortLived;
+        this.shortTtl = b.shortTtl;
+        this.loadedAt = b.loadedAt;
+        this.sketch = new FrequencySketch(this.maxEntries);
+        this.background = refreshAfter == null ? null : newBackground(name);
+
+        long every = b.sweepInterval.toMillis();
+        if (refreshAhead != null) every = Math.min(every, Math.max(1000, refreshAhead.toMillis() / 2));
+        this.maintenance = SWEEPER.scheduleWithFixedDelay(this::maintain, every, every, TimeUnit.MILLISECONDS);
+    }
+
+    public static <K, V> Builder<K, V> builder(Duration ttl) { return new Builder<>(ttl); }
+
+    /**
+     * The cached value, if any; never loads. A stale (past soft TTL) entry is returned and, like in
+     * {@link #getOrCompute}, reloaded in the background with the loader it was stored with.
+     */
     public Optional<V> get(K key) {
-        var e = store.get(key);
-        if (e == null) return Optional.empty();
-        if (e.expiresAt.isBefore(Instant.now())) {
-            store.remove(key);
+        sketch.increment(key);
+        var e = live(key);
+        if (e == null) {
+            misses.increment();
             return Optional.empty();
         }
+        hits.increment();
+        if (e.refreshAtMs <= System.currentTimeMillis()) {
+            staleHits.increment();
+            refreshAsync(key, e.loader);
+        }
         return Optional.ofNullable(e.value);
     }
 
     public V getOrCompute(K key, Supplier<V> supplier) {
-        var hit = get(key);
-        if (hit.isPresent()) return hit.get();
-        // naive trim to avoid unbounded growth (good enough for MVP)
-        if (store.size() > maxEntries) store.clear();
-        V v = supplier.get();
-        store.put(key, new Entry<>(v, Instant.now().plus(ttl)));
-        return v;
+        return getOrCompute(key, supplier, null);
+    }
+
+    /**
+     * Returns the cached value or loads it. Concurrent misses on the same key are coalesced:
+     * the first caller runs {@code supplier}, the others wait for its result.
+     * A failed load is rethrown to every waiter and nothing is cached, so the next call retries.
+     * A stale (past soft TTL) entry is returned immediately and reloaded in the background.
+     *
+     * @param maxWait how long a waiting caller blocks for someone else's load (null = no limit);
+     *                on expiry a {@link CacheLoadException} is thrown, the load itself carries on
+     */
+    public V getOrCompute(K key, Supplier<V> supplier, Duration maxWait) {
+        sketch.increment(key);
+        var e = live(key);
+        if (e != null) {
+            hits.increment();
+            if (e.refreshAtMs <= System.currentTimeMillis()) {
+                staleHits.increment();
+                refreshAsync(key, supplier);
+            }
+            return e.value;
+        }
+        misses.increment();
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) return await(key, existing, maxWait);
+
+        try {
+            // re-check: another caller may have finished loading between our lookup and putIfAbsent
+            var again = live(key);
+            V v = again != null ? again.value : supplier.get();
+            if (again == null) store(key, v, supplier);
+            mine.complete(v);
+            return v;
+        } catch (RuntimeException | Error ex) {
+            loadFailures.increment();
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** The current value, stale or not, without counting a read; empty if absent or expired. */
+    public Optional<V> peek(K key) {
+        var e = store.get(key);
+        if (e == null || e.expiresAtMs <= System.currentTimeMillis()) return Optional.empty();
+        return Optional.ofNullable(e.value);
+    }
+
+    /**
+     * Milliseconds until {@code key} goes stale (negative once it is), empty if it is not cached.
+     * A peek: does not count as a read.
+     */
+    public OptionalLong untilRefresh(K key) {
+        var e = store.get(key);
+        long now = System.currentTimeMillis();
+        if (e == null || e.expiresAtMs <= now) return OptionalLong.empty();
+        return OptionalLong.of(e.refreshAtMs - now);
+    }
+
+    /**
+     * Loads {@code key} on the calling thread and stores it, unless a load of it is already running.
+     *
+     * @return false if skipped because another load was in flight
+     */
+    public boolean reload(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, mine) != null) return false;
+        try {
+            V v = loader.get();
+            store(key, v, loader);
+            mine.complete(v);
+            return true;
+        } catch (RuntimeException | Error ex) {
+            loadFailures.increment();
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // Entry if present and not past its hard TTL (and marks it used); expired entries are dropped.
+    private Entry<V> live(K key) {
+        var e = store.get(key);
+        if (e == null) return null;
+        long now = System.currentTimeMillis();
+        if (e.expiresAtMs <= now) {
+            if (remove(key, e)) expirations.increment();
+            return null;
+        }
+        e.lastAccessMs = now;
+        recordRead(key);
+        return e;
+    }
+
+    private void recordRead(K key) {
+        if (readBuffered.get() >= READ_BUFFER_MAX) return;
+        readBuffered.incrementAndGet();
+        readBuffer.offer(key);
+    }
+
+    // Caller holds the lru lock: bump every buffered read to most-recently-used.
+    private void drainReads() {
+        K k;
+        while ((k = readBuffer.poll()) != null) {
+            readBuffered.decrementAndGet();
+            lru.get(k); // no-op if it has been removed since
+        }
+    }
+
+    private V await(K key, CompletableFuture<V> pending, Duration maxWait) {
+        try {
+            return maxWait == null
+                    ? pending.get()
+                    : pending.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new CacheLoadException("Timed out after " + maxWait.toMillis() + " ms waiting for load of " + key, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheLoadException("Interrupted waiting for load of " + key, e);
+        } catch (CancellationException e) {
+            throw new CacheLoadException("Load of " + key + " was cancelled", e);
+        } catch (ExecutionException e) {
+            // surface the loader's own exception, not the wrapper
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new CacheLoadException("Load of " + key + " failed", e.getCause());
+        }
+    }
+
+    /**
+     * Reloads {@code key} in the background unless a load is already running.
+     * Readers keep getting the current value; on failure it is kept until its hard TTL.
+     */
+    private void refreshAsync(K key, Supplier<V> loader) {
+        if (background == null || loader == null) return;
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, mine) != null) return;
+        try {
+            background.execute(() -> {
+                try {
+                    V v = loader.get();
+                    store(key, v, loader);
+                    mine.complete(v);
+                } catch (RuntimeException | Error ex) {
+                    loadFailures.increment();
+                    System.out.printf("[SimpleCache] %s: background refresh of %s failed: %s%n", name, key, ex.getMessage());
+                    mine.completeExceptionally(ex);
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(key, mine);
+            mine.cancel(false);
+        }
+    }
+
+    // Periodic: drop hard-expired entries; reload entries read recently that are about to go stale.
+    private void maintain() {
+        try {
+            long now = System.currentTimeMillis();
+            long horizon = refreshAhead == null ? Long.MIN_VALUE : now + refreshAhead.toMillis();
+            long readSince = refreshIfReadWithin == null ? Long.MIN_VALUE : now - refreshIfReadWithin.toMillis();
+            synchronized (lru) { drainReads(); } // keeps the buffer from filling up on read-only caches
+            store.forEach((k, e) -> {
+                if (e.expiresAtMs <= now) {
+                    if (remove(k, e)) expirations.increment();
+                } else if (e.loader != null && e.refreshAtMs <= horizon && e.lastAccessMs >= readSince) {
+                    refreshAsync(k, e.loader);
+                }
+            });
+        } catch (RuntimeException ex) {
+            System.out.printf("[SimpleCache] %s: maintenance failed: %s%n", name, ex.getMessage());
+        }
     }
 
     public void put(K key, V value) {
-        if (store.size() > maxEntries) store.clear();
-        store.put(key, new Entry<>(value, Instant.now().plus(ttl)));
+        store(key, value, null);
+    }
+
+    /** Put a value loaded elsewhere, with the loader to use for background refreshes. */
+    public void put(K key, V value, Supplier<V> loader) {
+        store(key, value, loader);
+    }
+
+    private void store(K key, V value, Supplier<V> loader) {
+        long now = System.currentTimeMillis();
+        long born = loadedAt == null || value == null ? now : Math.min(now, loadedAt.applyAsLong(value));
+        long expiresAt = born + ttl.toMillis();
+        long refreshAt = refreshAfter == null ? expiresAt : born + refreshAfter.toMillis();
+        if (shortLived != null && value != null && shortLived.test(value)) {
+            // stale (refreshed on next read) early; without background refresh, expired early
+            refreshAt = Math.min(refreshAt, born + shortTtl.toMillis());
+            if (background == null) expiresAt = Math.min(expiresAt, refreshAt);
+        }
+        int weight = value == null ? 0 : Math.max(0, weigher.applyAsInt(value));
+        var e = new Entry<>(value, weight, refreshAt, expiresAt, loader);
+        synchronized (lru) {
+            drainReads();
+            var old = store.put(key, e);
+            lru.put(key, e);
+            totalWeight += e.weight - (old == null ? 0 : old.weight);
+            evictIfNeeded(key, old == null);
+        }
+    }
+
+    // Caller holds the lru lock.
+    private void evictIfNeeded(K candidate, boolean candidateIsNew) {
+        while (totalWeight > maxWeight || store.size() > maxEntries) {
+            K victim = null;
+            for (Iterator<K> it = lru.keySet().iterator(); it.hasNext(); ) {
+                K k = it.next();
+                if (!k.equals(candidate)) { victim = k; break; }
+            }
+            if (victim == null || (candidateIsNew && sketch.frequency(candidate) < sketch.frequency(victim))) {
+                // nothing else to evict, or the victim is more popular than the newcomer: don't admit it
+                removeLocked(candidate);
+                rejections.increment();
+                return;
+            }
+            removeLocked(victim);
+            evictions.increment();
+        }
+    }
+
+    private boolean remove(K key, Entry<V> expected) {
+        synchronized (lru) {
+            if (!store.remove(key, expected)) return false;
+            lru.remove(key);
+            totalWeight -= expected.weight;
+            return true;
+        }
+    }
+
+    private void removeLocked(K key) {
+        var e = store.remove(key);
+        lru.remove(key);
+        if (e != null) totalWeight -= e.weight;
     }
 
-    public void invalidate(K key) { store.remove(key); }
-    public void clear() { store.clear(); }
+    public void invalidate(K key) {
+        synchronized (lru) { removeLocked(key); }
+    }
+
+    public void clear() {
+        synchronized (lru) {
+            store.clear();
+            lru.clear();
+            totalWeight = 0;
+        }
+    }
+
+    public CacheStats stats() {
+        int entries;
+        long weight;
+        synchronized (lru) { entries = store.size(); weight = totalWeight; }
+        return new CacheStats(name, hits.sum(), staleHits.sum(), misses.sum(), loadFailures.sum(),
+                evictions.sum(), expirations.sum(), rejections.sum(), entries, weight, maxWeight);
+    }
+
+    @Override
+    public void close() {
+        maintenance.cancel(false);
+        if (background != null) background.shutdownNow();
+    }
+
+    private static ScheduledExecutorService newBackground(String name) {
+        AtomicInteger seq = new AtomicInteger();
+        String prefix = "cache-" + name + "-";
+        ScheduledThreadPoolExecutor ex = new ScheduledThreadPoolExecutor(2, r -> {
+            Thread t = new Thread(r, prefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        ex.setRemoveOnCancelPolicy(true);
+        return ex;
+    }
+
+    public static class Builder<K, V> {
+        private final Duration ttl;
+        private int maxEntries = 1000;
+        private long maxWeight;
+        private ToIntFunction<V> weigher;
+        private Duration refreshAfter;
+        private Duration refreshAhead;
+        private Duration refreshIfReadWithin;
+        private Duration sweepInterval = Duration.ofMinutes(1);
+        private Predicate<V> shortLived;
+        private Duration shortTtl;
+        private ToLongFunction<V> loadedAt;
+        private String name;
+
+        private Builder(Duration ttl) { this.ttl = ttl; }
+
+        public Builder<K, V> maxEntries(int maxEntries) { this.maxEntries = maxEntries; return this; }
+        /** Bound on the summed weight of all entries, e.g. total number of cached jobs */
+        public Builder<K, V> maxWeight(long maxWeight, ToIntFunction<V> weigher) {
+            this.maxWeight = maxWeight; this.weigher = weigher; return this;
+        }
+        /** Soft TTL: past this an entry is served stale and reloaded in the background. Must be below ttl. */
+        public Builder<K, V> refreshAfter(Duration refreshAfter) { this.refreshAfter = refreshAfter; return this; }
+        /** Reload entries read within {@code readWithin} once they are {@code ahead} away from going stale. */
+        public Builder<K, V> refreshAhead(Duration ahead, Duration readWithin) {
+            this.refreshAhead = ahead; this.refreshIfReadWithin = readWithin; return this;
+        }
+        /** Values matching {@code when} go stale after {@code ttl} (capped by the regular TTLs) */
+        public Builder<K, V> shortLived(Predicate<V> when, Duration ttl) {
+            this.shortLived = when; this.shortTtl = ttl; return this;
+        }
+        /** When each value was fetched (epoch ms); its TTLs count from there instead of from the store */
+        public Builder<K, V> loadedAt(ToLongFunction<V> loadedAt) { this.loadedAt = loadedAt; return this; }
+        /** How often expired entries are swept (default 1 minute) */
+        public Builder<K, V> sweepInterval(Duration sweepInterval) { this.sweepInterval = sweepInterval; return this; }
+        /** Used in stats, logs and background thread names */
+        public Builder<K, V> name(String name) { this.name = name; return this; }
+
+        public SimpleCache<K, V> build() {
+            if (refreshAfter != null && refreshAfter.compareTo(ttl) >= 0) refreshAfter = null; // nothing to revalidate
+            if (refreshAfter == null) refreshAhead = null;
+            return new SimpleCache<>(this);
+        }
+    }
 }
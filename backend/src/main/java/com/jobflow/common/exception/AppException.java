@@ -14,4 +14,5 @@ public class AppException extends RuntimeException {
 
     public static AppException badRequest(String msg) { return new AppException(msg, HttpStatus.BAD_REQUEST); }
     public static AppException notFound(String msg) { return new AppException(msg, HttpStatus.NOT_FOUND); }
+    public static AppException unavailable(String msg) { return new AppException(msg, HttpStatus.SERVICE_UNAVAILABLE); }
 }
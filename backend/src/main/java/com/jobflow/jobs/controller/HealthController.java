@@ -1,10 +1,58 @@
 package com.jobflow.jobs.controller;
 
+import com.jobflow.common.cache.CacheStats;
+import com.jobflow.sources.adapters.NaukriAdapter;
+import com.jobflow.sources.http.HttpStats;
+import com.jobflow.sources.http.SourceHttp;
+import com.jobflow.sources.resilience.SourceHealth;
+import com.jobflow.sources.service.SourceOrchestrator;
+import com.jobflow.sources.warmup.HotQuery;
+import com.jobflow.sources.warmup.PopularityTracker;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 public class HealthController {
+
+    private final SourceOrchestrator orchestrator;
+    private final NaukriAdapter naukri;
+    private final SourceHttp sourceHttp;
+    private final PopularityTracker popularity;
+
+    public HealthController(SourceOrchestrator orchestrator, NaukriAdapter naukri, SourceHttp sourceHttp,
+                            PopularityTracker popularity) {
+        this.orchestrator = orchestrator;
+        this.naukri = naukri;
+        this.sourceHttp = sourceHttp;
+        this.popularity = popularity;
+    }
+
     @GetMapping("/api/health")
     public String ok() { return "OK"; }
+
+    // hit/miss/eviction counters for the in-process caches
+    @GetMapping("/api/health/cache")
+    public List<CacheStats> cache() {
+        return List.of(orchestrator.cacheStats(), naukri.cacheStats());
+    }
+
+    // per-source request / protocol / byte counters of the shared HTTP layer
+    @GetMapping("/api/health/http")
+    public List<HttpStats> http() {
+        return sourceHttp.stats();
+    }
+
+    // circuit breaker state, latency percentiles and current timeout per source
+    @GetMapping("/api/health/sources")
+    public List<SourceHealth> sources() {
+        return orchestrator.sourceHealth();
+    }
+
+    // most popular searches (decayed hit counts), i.e. what the cache warmer keeps loaded
+    @GetMapping("/api/health/popular")
+    public List<HotQuery> popular() {
+        return popularity.top(20, 0);
+    }
 }
@@ -3,18 +3,34 @@ package com.jobflow.jobs.controller;
 import com.jobflow.common.dto.PageResponse;
 import com.jobflow.jobs.dto.FacetsResponse;
 import com.jobflow.jobs.dto.JobDto;
+import com.jobflow.jobs.dto.JobStreamBatch;
+import com.jobflow.jobs.dto.JobStreamComplete;
 import com.jobflow.jobs.service.JobService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/jobs")   // <— important: plain /jobs
 public class JobsController {
 
+    // long enough for the slowest source's budget; the service enforces the real deadlines
+    private static final long STREAM_TIMEOUT_MS = 60_000;
+
     private final JobService jobService;
+    private final TaskExecutor streamExecutor;
 
-    public JobsController(JobService jobService) {
+    public JobsController(JobService jobService,
+                          @Qualifier("applicationTaskExecutor") TaskExecutor streamExecutor) {
         this.jobService = jobService;
+        this.streamExecutor = streamExecutor;
     }
 
 
@@ -42,4 +58,47 @@ public class JobsController {
     ) {
         return jobService.facets(prefId, companyContains, sortBy);
     }
+
+    /**
+     * Same search as GET /jobs, streamed over SSE as each source completes:
+     * "jobs" (new, de-duplicated jobs from one source), "facets" (running counts),
+     * then "complete" (total + failed/timed-out sources) or "error".
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam String prefId,
+            @RequestParam(required = false, defaultValue = "all") String source,
+            @RequestParam(required = false) Integer postedWithinDays,
+            @RequestParam(required = false) String companyContains
+    ) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        streamExecutor.execute(() -> {
+            try {
+                JobStreamComplete done = jobService.stream(prefId, source, postedWithinDays, companyContains,
+                        new JobService.StreamListener() {
+                            @Override public void onJobs(JobStreamBatch batch) { send(emitter, "jobs", batch); }
+                            @Override public void onFacets(FacetsResponse facets) { send(emitter, "facets", facets); }
+                        });
+                send(emitter, "complete", done);
+                emitter.complete();
+            } catch (Exception e) {
+                try {
+                    send(emitter, "error", Map.of("message", String.valueOf(e.getMessage())));
+                    emitter.complete();
+                } catch (Exception ignored) {
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            // client went away; the fetch carries on and still fills the cache
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -1,6 +1,10 @@
 package com.jobflow.jobs.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.jobflow.sources.model.ApplyLink;
+
 import java.time.Instant;
+import java.util.List;
 
 public class JobDto {
     private String id;
@@ -10,6 +14,8 @@ public class JobDto {
     private String source;
     private String applyUrl;
     private String postedAt;
+    private long postedAtMs = Long.MIN_VALUE; // for server-side comparisons; not sent
+    private List<ApplyLink> alternates = List.of();
 
     public JobDto() {}
 
@@ -24,6 +30,8 @@ public class JobDto {
     public String getSource() { return source; }
     public String getApplyUrl() { return applyUrl; }
     public String getPostedAt() { return postedAt; }
+    @JsonIgnore public long getPostedAtMs() { return postedAtMs; }
+    public List<ApplyLink> getAlternates() { return alternates; }
 
     public void setId(String id) { this.id = id; }
     public void setTitle(String title) { this.title = title; }
@@ -32,4 +40,6 @@ public class JobDto {
     public void setSource(String source) { this.source = source; }
     public void setApplyUrl(String applyUrl) { this.applyUrl = applyUrl; }
     public void setPostedAt(String postedAt) { this.postedAt = postedAt; }
+    public void setPostedAtMs(long postedAtMs) { this.postedAtMs = postedAtMs; }
+    public void setAlternates(List<ApplyLink> alternates) { this.alternates = alternates; }
 }
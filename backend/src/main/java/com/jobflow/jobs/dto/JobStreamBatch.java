@@ -0,0 +1,22 @@
+package com.jobflow.jobs.dto;
+
+import java.util.List;
+
+/** Payload of a "jobs" event on /jobs/stream: new (not yet sent) jobs from one source. */
+public class JobStreamBatch {
+    private String source;
+    private List<JobDto> items;
+
+    public JobStreamBatch() {}
+
+    public JobStreamBatch(String source, List<JobDto> items) {
+        this.source = source;
+        this.items = items;
+    }
+
+    public String getSource() { return source; }
+    public List<JobDto> getItems() { return items; }
+
+    public void setSource(String source) { this.source = source; }
+    public void setItems(List<JobDto> items) { this.items = items; }
+}
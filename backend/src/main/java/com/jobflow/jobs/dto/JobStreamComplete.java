@@ -0,0 +1,26 @@
+package com.jobflow.jobs.dto;
+
+import java.util.Set;
+
+/** Payload of the final "complete" event on /jobs/stream. */
+public class JobStreamComplete {
+    private int total;
+    private Set<String> failedSources;
+    private Set<String> timedOutSources;
+
+    public JobStreamComplete() {}
+
+    public JobStreamComplete(int total, Set<String> failedSources, Set<String> timedOutSources) {
+        this.total = total;
+        this.failedSources = failedSources;
+        this.timedOutSources = timedOutSources;
+    }
+
+    public int getTotal() { return total; }
+    public Set<String> getFailedSources() { return failedSources; }
+    public Set<String> getTimedOutSources() { return timedOutSources; }
+
+    public void setTotal(int total) { this.total = total; }
+    public void setFailedSources(Set<String> failedSources) { this.failedSources = failedSources; }
+    public void setTimedOutSources(Set<String> timedOutSources) { this.timedOutSources = timedOutSources; }
+}
@@ -1,20 +1,41 @@
 package com.jobflow.jobs.mapper;
 
 import com.jobflow.jobs.dto.JobDto;
+import com.jobflow.jobs.model.StoredJob;
 import com.jobflow.sources.model.NormalizedJob;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+
 @Component
 public class JobMapper {
     public JobDto toDto(NormalizedJob n) {
-        return new JobDto(
+        JobDto dto = new JobDto(
             n.getId(),
             n.getTitle(),
             n.getCompany(),
             n.getLocation(),
             n.getSource(),
             n.getApplyUrl(),
-            n.getPostedAt()
+            n.hasPostedAt() ? Instant.ofEpochMilli(n.getPostedAtMs()).toString() : null
+        );
+        dto.setPostedAtMs(n.getPostedAtMs());
+        dto.setAlternates(n.getAlternates());
+        return dto;
+    }
+
+    public JobDto toDto(StoredJob s) {
+        JobDto dto = new JobDto(
+            s.getId(),
+            s.getTitle(),
+            s.getCompany(),
+            s.getLocation(),
+            s.getSource(),
+            s.getApplyUrl(),
+            s.getPostedAt() == null ? null : s.getPostedAt().toString()
         );
+        if (s.getPostedAt() != null) dto.setPostedAtMs(s.getPostedAt().toEpochMilli());
+        dto.setAlternates(s.getAlternates());
+        return dto;
     }
 }
@@ -0,0 +1,42 @@
+package com.jobflow.jobs.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobflow.sources.model.ApplyLink;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+/** A job's alternate apply links as a JSON array; no links are stored as null. */
+@Converter
+public class ApplyLinksConverter implements AttributeConverter<List<ApplyLink>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final TypeReference<List<ApplyLink>> LINKS = new TypeReference<>() { };
+
+    @Override
+    public String convertToDatabaseColumn(List<ApplyLink> links) {
+        if (links == null || links.isEmpty()) return null;
+        try {
+            return MAPPER.writeValueAsString(links);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("cannot encode apply links", e);
+        }
+    }
+
+    @Override
+    public List<ApplyLink> convertToEntityAttribute(String json) {
+        if (json == null || json.isEmpty()) return List.of();
+        try {
+            return List.copyOf(MAPPER.readValue(json, LINKS));
+        } catch (JsonProcessingException e) {
+            // a row we cannot read still has its primary link
+            System.out.println("[JobStore] unreadable alternates: " + e.getMessage());
+            return List.of();
+        }
+    }
+}
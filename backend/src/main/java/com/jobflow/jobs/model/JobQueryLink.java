@@ -0,0 +1,74 @@
+package com.jobflow.jobs.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/** "This job came back for this canonical search", so a search can be answered from {@code jobs}. */
+@Entity
+@Table(name = "job_query")
+@IdClass(JobQueryLink.Key.class)
+public class JobQueryLink implements Persistable<JobQueryLink.Key> {
+
+    @Id
+    @Column(name = "query_key", length = 512)
+    private String queryKey;
+
+    @Id
+    @Column(name = "job_id", length = 64)
+    private String jobId;
+
+    @Column(nullable = false)
+    private Instant lastSeenAt;
+
+    @Transient
+    private boolean fresh;
+
+    public JobQueryLink() { }
+
+    public JobQueryLink(String queryKey, String jobId, Instant lastSeenAt) {
+        this.queryKey = queryKey;
+        this.jobId = jobId;
+        this.lastSeenAt = lastSeenAt;
+        this.fresh = true;
+    }
+
+    @Override
+    public Key getId() { return new Key(queryKey, jobId); }
+
+    @Override
+    public boolean isNew() { return fresh; }
+
+    @PostLoad
+    @PostPersist
+    void markStored() { fresh = false; }
+
+    public String getQueryKey() { return queryKey; }
+    public String getJobId() { return jobId; }
+    public Instant getLastSeenAt() { return lastSeenAt; }
+    public void setLastSeenAt(Instant lastSeenAt) { this.lastSeenAt = lastSeenAt; }
+
+    public static class Key implements Serializable {
+        private String queryKey;
+        private String jobId;
+
+        public Key() { }
+
+        public Key(String queryKey, String jobId) {
+            this.queryKey = queryKey;
+            this.jobId = jobId;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key k)) return false;
+            return Objects.equals(queryKey, k.queryKey) && Objects.equals(jobId, k.jobId);
+        }
+        @Override public int hashCode() {
+            return Objects.hash(queryKey, jobId);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.jobflow.jobs.model;
+
+import com.jobflow.sources.model.ApplyLink;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.List;
+
+/** A normalized job kept across fetches; {@code id} is the orchestrator's (source + apply URL) hash. */
+@Entity
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_source_posted", columnList = "source, postedAt"),
+        @Index(name = "idx_jobs_posted", columnList = "postedAt"),
+        @Index(name = "idx_jobs_company", columnList = "companyKey"),
+        @Index(name = "idx_jobs_last_seen", columnList = "lastSeenAt")
+})
+public class StoredJob implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    private String title;
+    private String company;
+
+    // lowercased company ("" if unknown) for case-insensitive filtering
+    @Column(nullable = false)
+    private String companyKey;
+
+    private String location;
+
+    @Column(nullable = false, length = 32)
+    private String source;
+
+    @Column(length = 2048)
+    private String applyUrl;
+
+    // the same job on other sources / apply URLs, as JSON
+    @Convert(converter = ApplyLinksConverter.class)
+    @Column(columnDefinition = "text")
+    private List<ApplyLink> alternates = List.of();
+
+    private Instant postedAt;
+
+    @Column(nullable = false)
+    private Instant firstSeenAt;
+
+    @Column(nullable = false)
+    private Instant lastSeenAt;
+
+    // lets saveAll insert new rows without a select-before-insert per id
+    @Transient
+    private boolean fresh;
+
+    public StoredJob() { }
+
+    public static StoredJob firstSeen(String id, Instant now) {
+        StoredJob j = new StoredJob();
+        j.id = id;
+        j.firstSeenAt = now;
+        j.fresh = true;
+        return j;
+    }
+
+    @Override
+    public boolean isNew() { return fresh; }
+
+    @PostLoad
+    @PostPersist
+    void markStored() { fresh = false; }
+
+    @Override
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getCompany() { return company; }
+    public void setCompany(String company) { this.company = company; }
+    public String getCompanyKey() { return companyKey; }
+    public void setCompanyKey(String companyKey) { this.companyKey = companyKey; }
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+    public String getApplyUrl() { return applyUrl; }
+    public void setApplyUrl(String applyUrl) { this.applyUrl = applyUrl; }
+    public List<ApplyLink> getAlternates() { return alternates; }
+    public void setAlternates(List<ApplyLink> alternates) { this.alternates = alternates == null ? List.of() : alternates; }
+    public Instant getPostedAt() { return postedAt; }
+    public void setPostedAt(Instant postedAt) { this.postedAt = postedAt; }
+    public Instant getFirstSeenAt() { return firstSeenAt; }
+    public void setFirstSeenAt(Instant firstSeenAt) { this.firstSeenAt = firstSeenAt; }
+    public Instant getLastSeenAt() { return lastSeenAt; }
+    public void setLastSeenAt(Instant lastSeenAt) { this.lastSeenAt = lastSeenAt; }
+}
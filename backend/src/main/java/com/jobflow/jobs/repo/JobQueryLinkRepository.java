@@ -0,0 +1,26 @@
+package com.jobflow.jobs.repo;
+
+import com.jobflow.jobs.model.JobQueryLink;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface JobQueryLinkRepository extends JpaRepository<JobQueryLink, JobQueryLink.Key> {
+
+    List<JobQueryLink> findByQueryKeyAndJobIdIn(String queryKey, Collection<String> jobIds);
+
+    /** When the search was last ingested (null if never). */
+    @Query("select max(l.lastSeenAt) from JobQueryLink l where l.queryKey = :queryKey")
+    Instant lastIngestedAt(@Param("queryKey") String queryKey);
+
+    @Transactional
+    @Modifying
+    @Query("delete from JobQueryLink l where l.lastSeenAt < :cutoff")
+    int deleteNotSeenSince(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,87 @@
+package com.jobflow.jobs.repo;
+
+import com.jobflow.jobs.model.StoredJob;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface StoredJobRepository extends JpaRepository<StoredJob, String> {
+
+    // every parameter is always bound ("" / false / "%" mean "no filter"), which keeps the
+    // statement plannable on Postgres; newest first, undated last. Only links seen since
+    // :seenSince (the search's last ingest) count: a job the search no longer returns drops out.
+    @Query(value = """
+            select j from StoredJob j
+            where j.id in (select l.jobId from JobQueryLink l where l.queryKey = :queryKey and l.lastSeenAt >= :seenSince)
+              and (:source = '' or j.source = :source)
+              and (:dated = false or j.postedAt >= :postedSince)
+              and j.companyKey like :company escape '!'
+            order by j.postedAt desc nulls last, j.id
+            """,
+            countQuery = """
+            select count(j) from StoredJob j
+            where j.id in (select l.jobId from JobQueryLink l where l.queryKey = :queryKey and l.lastSeenAt >= :seenSince)
+              and (:source = '' or j.source = :source)
+              and (:dated = false or j.postedAt >= :postedSince)
+              and j.companyKey like :company escape '!'
+            """)
+    Page<StoredJob> search(@Param("queryKey") String queryKey,
+                           @Param("seenSince") Instant seenSince,
+                           @Param("source") String source,
+                           @Param("dated") boolean dated,
+                           @Param("postedSince") Instant postedSince,
+                           @Param("company") String companyPattern,
+                           Pageable page);
+
+    // same as search, with the company filter already resolved to exact company keys (CompanyIndex)
+    @Query(value = """
+            select j from StoredJob j
+            where j.id in (select l.jobId from JobQueryLink l where l.queryKey = :queryKey and l.lastSeenAt >= :seenSince)
+              and (:source = '' or j.source = :source)
+              and (:dated = false or j.postedAt >= :postedSince)
+              and j.companyKey in :companies
+            order by j.postedAt desc nulls last, j.id
+            """,
+            countQuery = """
+            select count(j) from StoredJob j
+            where j.id in (select l.jobId from JobQueryLink l where l.queryKey = :queryKey and l.lastSeenAt >= :seenSince)
+              and (:source = '' or j.source = :source)
+              and (:dated = false or j.postedAt >= :postedSince)
+              and j.companyKey in :companies
+            """)
+    Page<StoredJob> searchInCompanies(@Param("queryKey") String queryKey,
+                                      @Param("seenSince") Instant seenSince,
+                                      @Param("source") String source,
+                                      @Param("dated") boolean dated,
+                                      @Param("postedSince") Instant postedSince,
+                                      @Param("companies") Collection<String> companyKeys,
+                                      Pageable page);
+
+    @Query("select distinct j.companyKey from StoredJob j")
+    List<String> companyKeys();
+
+    /** Companies of the jobs seen since {@code since} (by any node). */
+    @Query("select distinct j.companyKey from StoredJob j where j.lastSeenAt >= :since")
+    List<String> companyKeysSeenSince(@Param("since") Instant since);
+
+    /** Companies of the jobs the next purge with this cutoff deletes. */
+    @Query("select distinct j.companyKey from StoredJob j where j.lastSeenAt < :cutoff")
+    List<String> companyKeysNotSeenSince(@Param("cutoff") Instant cutoff);
+
+    /** Those of {@code keys} that still have jobs. */
+    @Query("select distinct j.companyKey from StoredJob j where j.companyKey in :keys")
+    List<String> companyKeysIn(@Param("keys") Collection<String> keys);
+
+    @Transactional
+    @Modifying
+    @Query("delete from StoredJob j where j.lastSeenAt < :cutoff")
+    int deleteNotSeenSince(@Param("cutoff") Instant cutoff);
+}
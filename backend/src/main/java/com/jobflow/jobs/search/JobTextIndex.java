@@ -0,0 +1,381 @@
+package com.jobflow.jobs.search;
+
+import com.jobflow.sources.model.NormalizedJob;
+import com.jobflow.sources.ports.JobSinkPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-disk Lucene index of fetched jobs (title, company, location, description) for
+ * {@code sortBy=relevance}: BM25 scores against the preference's title and experience, newest
+ * first among equal scores. Every fresh fan-out is indexed on a single background thread; a job's
+ * document also lists the canonical searches that returned it, each with the time it last did, so one
+ * search's jobs can be ranked and paged in the index without scanning them.
+ *
+ * <p>The index is local to the node and updated asynchronously, so it only answers for a search
+ * whose latest ingest it has indexed itself; otherwise (another node fetched it, the batch is still
+ * queued or was dropped, or the node restarted since) the caller goes to the database. If the index
+ * cannot be opened or a query fails, callers keep their non-relevance order.
+ */
+@Component
+public class JobTextIndex implements JobSinkPort {
+
+    private static final String ID = "id";
+    private static final String QUERY = "querySeen"; // "<search key>\0<seenAt>" per search, stored (kept on re-index)
+    private static final String SOURCE = "source";
+    private static final String COMPANY_KEY = "companyKey";
+    private static final String POSTED = "postedAt";
+    private static final String SEEN = "seenAt";     // latest time any search returned the job (retention)
+    private static final String TITLE = "title";
+    private static final String COMPANY = "company";
+    private static final String LOCATION = "location";
+    private static final String DESCRIPTION = "description"; // stored: later fetches may come without it
+
+    // how far our own indexing time may trail the job store's for the same fan-out (both stamp it separately)
+    private static final long INGEST_CLOCK_SLACK_MS = 5_000;
+
+    // the title matters most; company / location only break ties
+    private static final Map<String, Float> BOOSTS = Map.of(TITLE, 3f, DESCRIPTION, 1f, COMPANY, 0.5f, LOCATION, 0.5f);
+
+    private final SearchIndexProperties props;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final ThreadPoolExecutor updater;
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searchers;
+    private final Map<String, Long> indexedAt = new ConcurrentHashMap<>(); // search -> seenAt of its latest indexed batch
+
+    public JobTextIndex(SearchIndexProperties props) {
+        this.props = props;
+        this.updater = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, props.getMaxPendingBatches())), r -> {
+                    Thread t = new Thread(r, "search-index");
+                    t.setDaemon(true);
+                    return t;
+                }, (r, pool) -> System.out.println("[TextIndex] index queue full, dropping a batch"));
+    }
+
+    @PostConstruct
+    void open() {
+        if (!props.isEnabled()) return;
+        try {
+            IndexWriterConfig cfg = new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            IndexWriter w = new IndexWriter(FSDirectory.open(Path.of(props.getPath())), cfg);
+            searchers = new SearcherManager(w, null);
+            writer = w;
+            System.out.printf("[TextIndex] opened %s (%d jobs)%n", props.getPath(), w.getDocStats().numDocs);
+        } catch (IOException e) {
+            System.out.println("[TextIndex] disabled, cannot open index: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        updater.shutdown();
+        try {
+            updater.awaitTermination(5, TimeUnit.SECONDS);
+            if (searchers != null) searchers.close();
+            if (writer != null) writer.close(); // commits
+        } catch (IOException | InterruptedException e) {
+            System.out.println("[TextIndex] close failed: " + e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() { return writer != null; }
+
+    @Override
+    public void accept(String queryKey, List<NormalizedJob> jobs, Map<String, String> descriptions) {
+        if (!isAvailable() || jobs.isEmpty()) return;
+        List<NormalizedJob> copy = List.copyOf(jobs);
+        Map<String, String> desc = Map.copyOf(descriptions);
+        long seenAt = System.currentTimeMillis();
+        updater.execute(() -> index(queryKey, copy, desc, seenAt));
+    }
+
+    /**
+     * One page of {@code queryKey}'s jobs ranked by relevance to {@code text}, as job ids; only the jobs
+     * of the latest indexed batch of that search count. Empty if the index cannot answer, including
+     * when it has not indexed the search's ingest of {@code ingestedAt} (yet).
+     *
+     * @param ingestedAt  when the job store last ingested the search
+     * @param companyKeys exact company keys to keep (already resolved), or null
+     * @param companyLike lowercase substring the company key must contain, or null; used when
+     *                    {@code companyKeys} is null
+     */
+    public Optional<Page<String>> search(String queryKey, Instant ingestedAt, String source, boolean dated,
+                                         Instant postedSince, Collection<String> companyKeys, String companyLike,
+                                         String text, Pageable pageable) {
+        if (!isAvailable()) return Optional.empty();
+        Long at = indexedAt.get(queryKey);
+        if (at == null || at < ingestedAt.toEpochMilli() - INGEST_CLOCK_SLACK_MS) return Optional.empty();
+        // jobs the search no longer returns keep an older seenAt for it, even when another search re-indexed them
+        BooleanQuery.Builder q = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(QUERY, seenBy(queryKey, at))), BooleanClause.Occur.FILTER);
+        if (!source.isEmpty()) q.add(new TermQuery(new Term(SOURCE, source)), BooleanClause.Occur.FILTER);
+        if (dated) {
+            q.add(LongPoint.newRangeQuery(POSTED, postedSince.toEpochMilli(), Long.MAX_VALUE), BooleanClause.Occur.FILTER);
+        }
+        if (companyKeys != null) {
+            q.add(new TermInSetQuery(COMPANY_KEY, bytes(companyKeys)), BooleanClause.Occur.FILTER);
+        } else if (companyLike != null) {
+            q.add(new WildcardQuery(new Term(COMPANY_KEY, "*" + escapeWildcard(companyLike) + "*")), BooleanClause.Occur.FILTER);
+        }
+        Query relevance = relevanceQuery(text);
+        if (relevance != null) q.add(relevance, BooleanClause.Occur.SHOULD); // scores only; every job of the search stays
+
+        IndexSearcher s = null;
+        try {
+            s = searchers.acquire();
+            Query query = q.build();
+            int total = s.count(query);
+            int want = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+            List<String> ids = new ArrayList<>();
+            if (want > 0 && total > 0) {
+                TopDocs top = s.search(query, want, bestFirst(), true);
+                StoredFields stored = s.storedFields();
+                for (int i = (int) pageable.getOffset(); i < top.scoreDocs.length; i++) {
+                    ids.add(stored.document(top.scoreDocs[i].doc, Set.of(ID)).get(ID));
+                }
+            }
+            return Optional.of(new PageImpl<>(ids, pageable, total));
+        } catch (IOException | RuntimeException e) {
+            System.out.println("[TextIndex] search failed: " + e.getMessage());
+            return Optional.empty();
+        } finally {
+            release(s);
+        }
+    }
+
+    /**
+     * Relevance of the given jobs to {@code text}, best first; jobs without any matching term (or
+     * not indexed yet) are left out. Empty if the index cannot answer.
+     */
+    public Optional<List<String>> rank(Collection<String> ids, String text) {
+        Query relevance = relevanceQuery(text);
+        if (!isAvailable() || relevance == null || ids.isEmpty()) return Optional.empty();
+        Query query = new BooleanQuery.Builder()
+                .add(new TermInSetQuery(ID, bytes(ids)), BooleanClause.Occur.FILTER)
+                .add(relevance, BooleanClause.Occur.MUST)
+                .build();
+        IndexSearcher s = null;
+        try {
+            s = searchers.acquire();
+            TopDocs top = s.search(query, ids.size(), bestFirst(), true);
+            StoredFields stored = s.storedFields();
+            List<String> out = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc d : top.scoreDocs) out.add(stored.document(d.doc, Set.of(ID)).get(ID));
+            return Optional.of(out);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("[TextIndex] rank failed: " + e.getMessage());
+            return Optional.empty();
+        } finally {
+            release(s);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.search-index.commit-interval-ms:60000}")
+    public void commit() {
+        IndexWriter w = writer;
+        if (w == null || !w.hasUncommittedChanges()) return;
+        try {
+            w.commit();
+        } catch (IOException | RuntimeException e) {
+            System.out.println("[TextIndex] commit failed: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.search-index.purge-interval-ms:3600000}")
+    public void purge() {
+        IndexWriter w = writer;
+        if (w == null) return;
+        long cutoff = Instant.now().minus(Duration.ofDays(props.getRetentionDays())).toEpochMilli();
+        try {
+            long n = w.deleteDocuments(LongPoint.newRangeQuery(SEEN, Long.MIN_VALUE, cutoff - 1));
+            if (n > 0) searchers.maybeRefresh();
+            indexedAt.values().removeIf(t -> t < cutoff);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("[TextIndex] purge failed: " + e.getMessage());
+        }
+    }
+
+    // Upserts a batch, keeping the other searches (and description) a job was indexed with before.
+    private void index(String queryKey, List<NormalizedJob> jobs, Map<String, String> descriptions, long seenAt) {
+        long start = System.currentTimeMillis();
+        Map<String, NormalizedJob> byId = new LinkedHashMap<>();
+        for (NormalizedJob n : jobs) if (n.getId() != null) byId.putIfAbsent(n.getId(), n);
+        IndexSearcher s = null;
+        try {
+            s = searchers.acquire();
+            Map<String, Document> previous = previous(s, byId.keySet());
+            for (NormalizedJob n : byId.values()) {
+                Document old = previous.get(n.getId());
+                Set<String> queries = new LinkedHashSet<>();
+                String description = descriptions.get(n.getId());
+                if (old != null) {
+                    for (String q : old.getValues(QUERY)) if (!queryKey.equals(searchOf(q))) queries.add(q);
+                    if (description == null) description = old.get(DESCRIPTION);
+                }
+                queries.add(seenBy(queryKey, seenAt));
+                writer.updateDocument(new Term(ID, n.getId()), document(n, queries, description, seenAt));
+            }
+            release(s);
+            s = null;
+            searchers.maybeRefresh();
+            indexedAt.merge(queryKey, seenAt, Math::max);
+            System.out.printf("[TextIndex] indexed %d jobs for '%s' in %d ms%n",
+                    byId.size(), queryKey, System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            System.out.printf("[TextIndex] indexing '%s' failed: %s%n", queryKey, e.getMessage());
+        } finally {
+            release(s);
+        }
+    }
+
+    private static String seenBy(String queryKey, long seenAt) {
+        return queryKey + '\0' + seenAt;
+    }
+
+    private static String searchOf(String seenBy) {
+        int i = seenBy.lastIndexOf('\0');
+        return i < 0 ? seenBy : seenBy.substring(0, i);
+    }
+
+    private static Map<String, Document> previous(IndexSearcher s, Collection<String> ids) throws IOException {
+        Map<String, Document> out = new HashMap<>();
+        if (ids.isEmpty()) return out;
+        TopDocs top = s.search(new TermInSetQuery(ID, bytes(ids)), ids.size());
+        StoredFields stored = s.storedFields();
+        for (ScoreDoc d : top.scoreDocs) {
+            Document doc = stored.document(d.doc);
+            out.put(doc.get(ID), doc);
+        }
+        return out;
+    }
+
+    private static Document document(NormalizedJob n, Set<String> queries, String description, long seenAt) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, n.getId(), Field.Store.YES));
+        for (String q : queries) doc.add(new StringField(QUERY, q, Field.Store.YES));
+        doc.add(new StringField(SOURCE, n.getSource() == null ? "" : n.getSource().toLowerCase(Locale.ROOT), Field.Store.NO));
+        doc.add(new StringField(COMPANY_KEY, n.getCompany() == null ? "" : n.getCompany().toLowerCase(Locale.ROOT), Field.Store.NO));
+        if (n.hasPostedAt()) {
+            doc.add(new LongPoint(POSTED, n.getPostedAtMs()));
+            doc.add(new NumericDocValuesField(POSTED, n.getPostedAtMs()));
+        }
+        doc.add(new LongPoint(SEEN, seenAt));
+        if (n.getTitle() != null) doc.add(new TextField(TITLE, n.getTitle(), Field.Store.NO));
+        if (n.getCompany() != null) doc.add(new TextField(COMPANY, n.getCompany(), Field.Store.NO));
+        if (n.getLocation() != null) doc.add(new TextField(LOCATION, n.getLocation(), Field.Store.NO));
+        if (description != null) {
+            doc.add(new TextField(DESCRIPTION, description, Field.Store.NO));
+            doc.add(new StoredField(DESCRIPTION, description));
+        }
+        return doc;
+    }
+
+    // Every analysed term of the text, in every field with its boost; BM25 is Lucene's default similarity.
+    private Query relevanceQuery(String text) {
+        if (text == null || text.isBlank()) return null;
+        BooleanQuery.Builder b = new BooleanQuery.Builder();
+        int clauses = 0;
+        for (Map.Entry<String, Float> field : BOOSTS.entrySet()) {
+            for (String term : terms(field.getKey(), text)) {
+                b.add(new BoostQuery(new TermQuery(new Term(field.getKey(), term)), field.getValue()), BooleanClause.Occur.SHOULD);
+                clauses++;
+            }
+        }
+        return clauses == 0 ? null : b.build();
+    }
+
+    private Set<String> terms(String field, String text) {
+        Set<String> out = new LinkedHashSet<>();
+        try (TokenStream ts = analyzer.tokenStream(field, text)) {
+            CharTermAttribute term = ts.addAttribute(CharTermAttribute.class);
+            ts.reset();
+            while (ts.incrementToken() && out.size() < 32) out.add(term.toString());
+            ts.end();
+        } catch (IOException e) {
+            // in-memory text: not expected
+        }
+        return out;
+    }
+
+    // best score first, then newest, undated last
+    private static Sort bestFirst() {
+        SortField posted = new SortField(POSTED, SortField.Type.LONG, true);
+        posted.setMissingValue(Long.MIN_VALUE);
+        return new Sort(SortField.FIELD_SCORE, posted);
+    }
+
+    private static List<BytesRef> bytes(Collection<String> values) {
+        List<BytesRef> out = new ArrayList<>(values.size());
+        for (String v : values) out.add(new BytesRef(v));
+        return out;
+    }
+
+    private static String escapeWildcard(String s) {
+        return s.replace("\\", "\\\\").replace("*", "\\*").replace("?", "\\?");
+    }
+
+    private void release(IndexSearcher s) {
+        if (s == null) return;
+        try {
+            searchers.release(s);
+        } catch (IOException e) {
+            // nothing left to do with it
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.jobflow.jobs.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "jobs.search-index")
+public class SearchIndexProperties {
+    /** Full-text (BM25) index of fetched jobs, used for sortBy=relevance */
+    private boolean enabled = true;
+
+    /** Index directory on local disk (created if missing) */
+    private String path = "data/search-index";
+
+    /** Jobs not fetched again for this long are removed from the index */
+    private int retentionDays = 30;
+
+    /** Fan-out results waiting to be indexed; beyond this new ones are dropped */
+    private int maxPendingBatches = 100;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+    public int getRetentionDays() { return retentionDays; }
+    public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
+    public int getMaxPendingBatches() { return maxPendingBatches; }
+    public void setMaxPendingBatches(int maxPendingBatches) { this.maxPendingBatches = maxPendingBatches; }
+}
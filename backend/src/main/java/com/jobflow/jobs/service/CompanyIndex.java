@@ -0,0 +1,154 @@
+package com.jobflow.jobs.service;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index over the distinct company keys (lowercase names) of stored jobs. Each
+ * trigram maps to a compressed bitmap of the companies containing it; a substring query intersects
+ * the bitmaps of its own trigrams (smallest first) and verifies the survivors with
+ * {@code contains}, so "companyContains" does not scan every job.
+ *
+ * <p>Maintained incrementally: ingestion adds the companies of each batch (and a periodic sync those
+ * other nodes ingested), {@link #removeAll} drops companies a purge left without jobs. Reads and
+ * writes may run concurrently. Because another node's ingest shows up here late, "no company
+ * matches" is never taken as an answer: callers fall back to the database.
+ */
+class CompanyIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> keys = new ArrayList<>(); // id -> key, null once removed
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+    private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+    private volatile boolean loaded;
+
+    /** Whether the initial load from the store has completed (queries before that are not answered). */
+    boolean isLoaded() { return loaded; }
+
+    void markLoaded() { loaded = true; }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void addAll(Collection<String> companyKeys) {
+        lock.writeLock().lock();
+        try {
+            for (String k : companyKeys) add(k);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeAll(Collection<String> companyKeys) {
+        lock.writeLock().lock();
+        try {
+            for (String k : companyKeys) remove(k);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Removes every company not in {@code present} and adds the missing ones. */
+    void retainOnly(Collection<String> present) {
+        Set<String> keep = new HashSet<>(present);
+        lock.writeLock().lock();
+        try {
+            for (String k : new ArrayList<>(ids.keySet())) if (!keep.contains(k)) remove(k);
+            for (String k : keep) add(k);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Company keys containing {@code needle} (case-insensitive), or empty if the index cannot answer:
+     * not loaded yet, a needle shorter than a trigram, no match at all (the company may only be known
+     * to another node so far), or more than {@code maxKeys} matches.
+     */
+    Optional<Set<String>> containing(String needle, int maxKeys) {
+        if (!loaded || needle == null) return Optional.empty();
+        String q = needle.toLowerCase(Locale.ROOT);
+        if (q.length() < 3) return Optional.empty();
+
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> lists = new ArrayList<>();
+            for (long g : trigrams(q)) {
+                RoaringBitmap p = postings.get(g);
+                if (p == null) return Optional.empty(); // some trigram occurs in no company we know
+                lists.add(p);
+            }
+            lists.sort((a, b) -> Integer.compare(a.getCardinality(), b.getCardinality()));
+            RoaringBitmap candidates = lists.get(0).clone();
+            for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) candidates.and(lists.get(i));
+
+            // trigrams match in any order / position, so every candidate is verified
+            Set<String> out = new HashSet<>();
+            for (int id : candidates) {
+                String k = keys.get(id);
+                if (k != null && k.contains(q)) {
+                    if (out.size() == maxKeys) return Optional.empty();
+                    out.add(k);
+                }
+            }
+            return out.isEmpty() ? Optional.empty() : Optional.of(out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(String key) {
+        if (key == null || key.isEmpty() || ids.containsKey(key)) return;
+        Integer id = freeIds.poll();
+        if (id == null) {
+            id = keys.size();
+            keys.add(key);
+        } else {
+            keys.set(id, key);
+        }
+        ids.put(key, id);
+        for (long g : trigrams(key)) postings.computeIfAbsent(g, x -> new RoaringBitmap()).add(id);
+    }
+
+    private void remove(String key) {
+        Integer id = ids.remove(key);
+        if (id == null) return;
+        keys.set(id, null);
+        freeIds.push(id);
+        for (long g : trigrams(key)) {
+            RoaringBitmap p = postings.get(g);
+            if (p == null) continue;
+            p.remove(id);
+            if (p.isEmpty()) postings.remove(g);
+        }
+    }
+
+    // distinct trigrams, three UTF-16 chars packed into one long
+    private static Set<Long> trigrams(String s) {
+        Set<Long> out = new HashSet<>();
+        for (int i = 0; i + 3 <= s.length(); i++) {
+            out.add(((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jobflow.jobs.service;
+
+import com.jobflow.jobs.dto.FacetsResponse;
+import com.jobflow.sources.model.JobSnapshot;
+import com.jobflow.sources.model.NormalizedJob;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running source / recency counts. Jobs can be added in batches (streaming) or all at once.
+ */
+class FacetCounter {
+
+    private static final long DAY_MS = 24L * 60L * 60L * 1000L;
+    private static final int[] RECENCY_DAYS = { 1, 3, 7, 14, 30 };
+
+    private final Map<String, Integer> sourceCounts = new HashMap<>();
+    private final int[] recency = new int[RECENCY_DAYS.length];
+    private final long now = System.currentTimeMillis();
+    private int total;
+
+    void add(NormalizedJob j) {
+        total++;
+        sourceCounts.merge(j.getSource() == null ? "unknown" : j.getSource().toLowerCase(), 1, Integer::sum);
+
+        if (!j.hasPostedAt()) return;
+        long days = (now - j.getPostedAtMs()) / DAY_MS;
+        for (int i = 0; i < RECENCY_DAYS.length; i++) {
+            if (days <= RECENCY_DAYS[i]) recency[i]++;
+        }
+    }
+
+    void addAll(List<NormalizedJob> jobs) {
+        for (NormalizedJob j : jobs) add(j);
+    }
+
+    /** Counts the given snapshot rows: per-source ordinals first, names only once at the end. */
+    void addRows(JobSnapshot snap, int[] rows) {
+        int[] perSource = new int[snap.sourceCount()];
+        for (int row : rows) {
+            total++;
+            perSource[snap.sourceOrdinal(row)]++;
+            long posted = snap.postedAtMs(row);
+            if (posted == NormalizedJob.NO_DATE) continue;
+            long days = (now - posted) / DAY_MS;
+            for (int i = 0; i < RECENCY_DAYS.length; i++) {
+                if (days <= RECENCY_DAYS[i]) recency[i]++;
+            }
+        }
+        for (int s = 0; s < perSource.length; s++) {
+            if (perSource[s] > 0) sourceCounts.merge(snap.sourceName(s), perSource[s], Integer::sum);
+        }
+    }
+
+    FacetsResponse toResponse() {
+        Map<String, Integer> sources = new HashMap<>(sourceCounts);
+        // ensure missing keys appear as 0 for UI
+        for (String s : List.of("adzuna", "remotive", "naukri")) sources.putIfAbsent(s, 0);
+
+        // Recency buckets: 1,3,7,14,30, any (by postedAt)
+        Map<String, Integer> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < RECENCY_DAYS.length; i++) buckets.put(String.valueOf(RECENCY_DAYS[i]), recency[i]);
+        buckets.put("any", total);
+
+        return new FacetsResponse(sources, buckets, total);
+    }
+}
@@ -3,6 +3,8 @@ package com.jobflow.jobs.service;
 import com.jobflow.common.dto.PageResponse;
 import com.jobflow.jobs.dto.FacetsResponse;
 import com.jobflow.jobs.dto.JobDto;
+import com.jobflow.jobs.dto.JobStreamBatch;
+import com.jobflow.jobs.dto.JobStreamComplete;
 
 public interface JobService {
     PageResponse<JobDto> search(
@@ -15,4 +17,20 @@ public interface JobService {
             // optional “partial filters” to scope the facet universe (e.g. companyContains)
             String companyContains, String sortBy
     );
+
+    /**
+     * Incremental search: jobs matching the filters are pushed to {@code listener} as each source
+     * finishes, each batch followed by updated facet counts (scoped by companyContains only, like
+     * {@link #facets}). Returns the summary once every source is done or timed out.
+     */
+    JobStreamComplete stream(
+            String prefId,
+            String source, Integer postedWithinDays, String companyContains,
+            StreamListener listener
+    );
+
+    interface StreamListener {
+        void onJobs(JobStreamBatch batch);
+        void onFacets(FacetsResponse facets);
+    }
 }
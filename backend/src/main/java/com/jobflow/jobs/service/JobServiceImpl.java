@@ -1,25 +1,35 @@
 package com.jobflow.jobs.service;
 
 import com.jobflow.common.dto.PageResponse;
+import com.jobflow.common.exception.AppException;
 import com.jobflow.jobs.dto.FacetsResponse;
 import com.jobflow.jobs.dto.JobDto;
+import com.jobflow.jobs.dto.JobStreamBatch;
+import com.jobflow.jobs.dto.JobStreamComplete;
 import com.jobflow.jobs.mapper.JobMapper;
+import com.jobflow.jobs.model.StoredJob;
 import com.jobflow.jobs.model.Preferences;
+import com.jobflow.jobs.search.JobTextIndex;
 import com.jobflow.preferences.dto.PreferenceDto;
 import com.jobflow.preferences.service.PreferenceService;
+import com.jobflow.sources.model.JobSnapshot;
+import com.jobflow.sources.model.MergedJobs;
 import com.jobflow.sources.model.NormalizedJob;
+import com.jobflow.sources.query.CanonicalQuery;
 import com.jobflow.sources.service.SourceOrchestrator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.time.Instant;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 @Service
 public class JobServiceImpl implements JobService {
@@ -27,11 +37,16 @@ public class JobServiceImpl implements JobService {
     private final PreferenceService preferenceService;
     private final SourceOrchestrator orchestrator;
     private final JobMapper mapper;
+    private final JobStoreService store;
+    private final JobTextIndex textIndex;
 
-    public JobServiceImpl(PreferenceService preferenceService, SourceOrchestrator orchestrator, JobMapper mapper) {
+    public JobServiceImpl(PreferenceService preferenceService, SourceOrchestrator orchestrator, JobMapper mapper,
+                          JobStoreService store, JobTextIndex textIndex) {
         this.preferenceService = preferenceService;
         this.orchestrator = orchestrator;
         this.mapper = mapper;
+        this.store = store;
+        this.textIndex = textIndex;
     }
 
     @Override
@@ -42,75 +57,69 @@ public class JobServiceImpl implements JobService {
         // 1) Load preference
         final PreferenceDto pref = preferenceService.getById(prefId);
 
-        // 2) Fetch a generous pool (cached by orchestrator)
+        // relevance = BM25 against what the user is looking for (title + experience)
+        String relevanceText = "relevance".equalsIgnoreCase(sortBy) ? relevanceText(pref) : null;
+
+        // 2) Recently ingested search: filter, sort and page in the database (ranked in the text index)
+        CanonicalQuery q = orchestrator.canonicalize(pref.getJobTitle(), pref.getLocation(), pref.isRemoteOnly());
+        Optional<Page<StoredJob>> stored = store.search(q.key(), source, postedWithinDays, companyContains,
+                relevanceText, page, size);
+        if (stored.isPresent()) {
+            orchestrator.recordAccess(q);
+            Page<StoredJob> p = stored.get();
+            return PageResponse.of(p.getContent().stream().map(mapper::toDto).toList(),
+                    page, size, p.getTotalElements());
+        }
+
+        // Otherwise fetch a generous pool (cached by orchestrator, ingested into the store)
         final int MAX_TOTAL = 200;
-        List<NormalizedJob> all = orchestrator.fetchAll(
+        JobSnapshot snap = orchestrator.fetchMerged(
                 pref.getJobTitle(),
                 pref.getLocation(),
                 pref.isRemoteOnly(),
                 MAX_TOTAL
-        );
+        ).getSnapshot();
 
-        // 3) Apply filters over the FULL set
-        var stream = all.stream();
-
-        // source filter
-        if (source != null && !"all".equalsIgnoreCase(source)) {
-            final String src = source.toLowerCase();
-            stream = stream.filter(j -> j.getSource() != null && j.getSource().equalsIgnoreCase(src));
-        }
+        // 3) Filter over the FULL set (columnar), in recency order or ranked (orchestrator order if it cannot be)
+        int[] rows = snap.select(snap.filter(source, postedWithinDays, companyContains),
+                "recency".equalsIgnoreCase(sortBy));
+        if (relevanceText != null) rows = rank(snap, rows, relevanceText);
 
-        // postedWithinDays (keep undated jobs to avoid hiding data; switch predicate to exclude nulls if you prefer)
-        if (postedWithinDays != null && postedWithinDays > 0) {
-            long cutoff = System.currentTimeMillis() - postedWithinDays * 24L * 60L * 60L * 1000L;
-            stream = stream.filter(j -> {
-                String postedAtStr = j.getPostedAt();
-                if (postedAtStr == null || postedAtStr.isBlank()) return false;
-                try {
-                    Instant postedAtInstant = Instant.parse(postedAtStr);
-                    return postedAtInstant.toEpochMilli() >= cutoff;
-                } catch (Exception e) {
-                    return false; // skip invalid timestamps
-                }
-            });        }
-
-        // companyContains (case-insensitive)
-        if (companyContains != null && !companyContains.isBlank()) {
-            final String q = companyContains.toLowerCase();
-            stream = stream.filter(j -> (j.getCompany() != null) && j.getCompany().toLowerCase().contains(q));
-        }
-
-        List<NormalizedJob> filtered = stream.toList();
-
-        // 4) Sort
-        if ("recency".equalsIgnoreCase(sortBy)) {
-            filtered = filtered.stream()
-                    .sorted(Comparator.comparing(
-                            NormalizedJob::getPostedAt,
-                            Comparator.nullsLast(Comparator.reverseOrder())
-                    ))
-                    .toList();
-        } // relevance => keep orchestrator order
-
-        // 5) Slice page & map
-        int total = filtered.size();
+        // 4) Slice page & map; only the page's jobs are touched
+        int total = rows.length;
         int from = Math.min(page * size, total);
         int to = Math.min(from + size, total);
 
-        List<JobDto> items = filtered.subList(from, to)
-                .stream()
-                .map(mapper::toDto)
-                .toList();
+        List<JobDto> items = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) items.add(mapper.toDto(snap.job(rows[i])));
 
         return PageResponse.of(items, page, size, total);
     }
 
-    private static Instant safeParse(String s) {
-        try {
-            return (s == null || s.isBlank()) ? null : Instant.parse(s);
-        } catch (Exception e) {
-            return null;
+    private static String relevanceText(PreferenceDto pref) {
+        String text = (Objects.toString(pref.getJobTitle(), "") + " " + Objects.toString(pref.getExperience(), "")).trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    // Rows the text index scores first (best first), then the rest in their current order.
+    private int[] rank(JobSnapshot snap, int[] rows, String text) {
+        Map<String, Integer> rowById = new HashMap<>();
+        for (int row : rows) rowById.putIfAbsent(snap.job(row).getId(), row);
+        Optional<List<String>> ranked = textIndex.rank(rowById.keySet(), text);
+        if (ranked.isEmpty() || ranked.get().isEmpty()) return rows;
+
+        boolean[] taken = new boolean[snap.size()];
+        int[] out = new int[rows.length];
+        int n = 0;
+        for (String id : ranked.get()) {
+            Integer row = rowById.get(id);
+            if (row != null && !taken[row]) {
+                taken[row] = true;
+                out[n++] = row;
+            }
         }
+        for (int row : rows) if (!taken[row]) out[n++] = row;
+        return out;
     }
 
     @Override
@@ -121,61 +130,69 @@ public class JobServiceImpl implements JobService {
         final PreferenceDto pref = preferenceService.getById(prefId);
 
         final int MAX_TOTAL = 200;
-        List<NormalizedJob> all = orchestrator.fetchAll(
+        JobSnapshot snap = orchestrator.fetchMerged(
                 pref.getJobTitle(),
                 pref.getLocation(),
                 pref.isRemoteOnly(),
                 MAX_TOTAL
-        );
+        ).getSnapshot();
 
-        var st = all.stream();
+        FacetCounter counter = new FacetCounter();
+        counter.addRows(snap, snap.select(snap.filter(null, null, companyContains), false));
+        return counter.toResponse();
+    }
 
-        if (companyContains != null && !companyContains.isBlank()) {
-            final String q = companyContains.toLowerCase();
-            st = st.filter(j -> j.getCompany() != null && j.getCompany().toLowerCase().contains(q));
-        }
+    @Override
+    public JobStreamComplete stream(
+            String prefId,
+            String source, Integer postedWithinDays, String companyContains,
+            StreamListener listener
+    ) {
+        final PreferenceDto pref = preferenceService.getById(prefId);
+        if (pref == null) throw AppException.notFound("Preference not found: " + prefId);
+
+        Predicate<NormalizedJob> facetScope = companyMatches(companyContains);
+        Predicate<NormalizedJob> filter = matches(source, postedWithinDays, companyContains);
+        FacetCounter counter = new FacetCounter();
+
+        // batches arrive already de-duplicated against everything sent before
+        MergedJobs merged = orchestrator.stream(pref.getJobTitle(), pref.getLocation(), pref.isRemoteOnly(),
+                (src, fresh) -> {
+                    fresh.stream().filter(facetScope).forEach(counter::add);
+                    List<JobDto> items = fresh.stream().filter(filter).map(mapper::toDto).toList();
+                    if (!items.isEmpty()) listener.onJobs(new JobStreamBatch(src, items));
+                    listener.onFacets(counter.toResponse());
+                });
+
+        JobSnapshot snap = merged.getSnapshot();
+        int total = snap.select(snap.filter(source, postedWithinDays, companyContains), false).length;
+        return new JobStreamComplete(total, merged.getFailedSources(), merged.getTimedOutSources());
+    }
+
+    // ---- Filters ----
 
-        List<NormalizedJob> filtered = st.toList();
+    private static Predicate<NormalizedJob> matches(String source, Integer postedWithinDays, String companyContains) {
+        Predicate<NormalizedJob> p = j -> true;
 
-        if ("recency".equalsIgnoreCase(sortBy)) {
-            filtered = filtered.stream()
-                    .sorted(Comparator.comparing(
-                            NormalizedJob::getPostedAt,
-                            Comparator.nullsLast(Comparator.reverseOrder())
-                    ))
-                    .toList();
+        // source filter
+        if (source != null && !"all".equalsIgnoreCase(source)) {
+            final String src = source.toLowerCase();
+            p = p.and(j -> j.getSource() != null && j.getSource().equalsIgnoreCase(src));
         }
 
-        // Source counts
-        Map<String, Integer> sourceCounts = filtered.stream()
-                .collect(Collectors.groupingBy(
-                        j -> j.getSource() == null ? "unknown" : j.getSource().toLowerCase(),
-                        Collectors.reducing(0, e -> 1, Integer::sum)
-                ));
-        // ensure missing keys appear as 0 for UI
-        for (String s : List.of("adzuna", "remotive", "naukri")) sourceCounts.putIfAbsent(s, 0);
-
-        // Recency buckets: any, 1,3,7,14,30 (by postedAt)
-        Map<String, Integer> recency = new LinkedHashMap<>();
-        recency.put("1",  0);
-        recency.put("3",  0);
-        recency.put("7",  0);
-        recency.put("14", 0);
-        recency.put("30", 0);
-        recency.put("any", filtered.size());
-
-        long now = System.currentTimeMillis();
-        for (NormalizedJob j : filtered) {
-            Instant p = safeParse(j.getPostedAt());;
-            if (p == null) continue;
-            long days = (now - p.toEpochMilli()) / (24L * 60L * 60L * 1000L);
-            if (days <= 1)  recency.computeIfPresent("1",  (k, v) -> v + 1);
-            if (days <= 3)  recency.computeIfPresent("3",  (k, v) -> v + 1);
-            if (days <= 7)  recency.computeIfPresent("7",  (k, v) -> v + 1);
-            if (days <= 14) recency.computeIfPresent("14", (k, v) -> v + 1);
-            if (days <= 30) recency.computeIfPresent("30", (k, v) -> v + 1);
+        // postedWithinDays (undated jobs are dropped when this filter is on)
+        if (postedWithinDays != null && postedWithinDays > 0) {
+            long cutoff = System.currentTimeMillis() - postedWithinDays * 24L * 60L * 60L * 1000L;
+            p = p.and(j -> j.getPostedAtMs() >= cutoff); // NO_DATE is below any cutoff
         }
 
-        return new FacetsResponse(sourceCounts, recency, filtered.size());
+        return p.and(companyMatches(companyContains));
+    }
+
+    // companyContains (case-insensitive)
+    private static Predicate<NormalizedJob> companyMatches(String companyContains) {
+        if (companyContains == null || companyContains.isBlank()) return j -> true;
+        final String q = companyContains.toLowerCase();
+        return j -> j.getCompany() != null && j.getCompany().toLowerCase().contains(q);
     }
 }
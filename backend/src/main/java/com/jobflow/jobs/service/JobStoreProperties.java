@@ -0,0 +1,37 @@
+package com.jobflow.jobs.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "jobs.store")
+public class JobStoreProperties {
+    /** Keep every fetched job in the database and answer searches from there when it is fresh */
+    private boolean enabled = true;
+
+    /** A search ingested longer ago than this is fetched live again (which re-ingests it) */
+    private int maxAgeMinutes = 30;
+
+    /** Jobs and search links not seen again for this long are deleted */
+    private int retentionDays = 30;
+
+    /** Fan-out results waiting to be written; beyond this new ones are dropped */
+    private int maxPendingBatches = 100;
+
+    /** Answer company filters on stored jobs from an in-memory trigram index instead of LIKE */
+    private boolean companyIndex = true;
+
+    /** Beyond this many matching companies the filter goes back to LIKE (keeps the IN list small) */
+    private int companyIndexMaxKeys = 1000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxAgeMinutes() { return maxAgeMinutes; }
+    public void setMaxAgeMinutes(int maxAgeMinutes) { this.maxAgeMinutes = maxAgeMinutes; }
+    public int getRetentionDays() { return retentionDays; }
+    public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
+    public int getMaxPendingBatches() { return maxPendingBatches; }
+    public void setMaxPendingBatches(int maxPendingBatches) { this.maxPendingBatches = maxPendingBatches; }
+    public boolean isCompanyIndex() { return companyIndex; }
+    public void setCompanyIndex(boolean companyIndex) { this.companyIndex = companyIndex; }
+    public int getCompanyIndexMaxKeys() { return companyIndexMaxKeys; }
+    public void setCompanyIndexMaxKeys(int companyIndexMaxKeys) { this.companyIndexMaxKeys = companyIndexMaxKeys; }
+}
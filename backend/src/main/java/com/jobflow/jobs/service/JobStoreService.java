@@ -0,0 +1,294 @@
+package com.jobflow.jobs.service;
+
+import com.jobflow.jobs.model.JobQueryLink;
+import com.jobflow.jobs.model.StoredJob;
+import com.jobflow.jobs.repo.JobQueryLinkRepository;
+import com.jobflow.jobs.repo.StoredJobRepository;
+import com.jobflow.jobs.search.JobTextIndex;
+import com.jobflow.sources.model.NormalizedJob;
+import com.jobflow.sources.ports.JobSinkPort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Persistent job store. Every fresh fan-out is upserted into {@code jobs} (by job id, keeping
+ * first-seen / last-seen times) and linked to the canonical search that returned it, on a single
+ * background writer. Searches ingested within {@code maxAgeMinutes} are then answered with an
+ * indexed, paged query instead of going through the orchestrator, over the jobs linked in the
+ * search's latest ingest (each ingest stamps all of its links with one time). A company filter is
+ * first resolved to exact company keys through an in-memory trigram index ({@link CompanyIndex}),
+ * which the writer keeps in step with ingestion and purges and which picks up other nodes'
+ * companies every {@code company-sync-interval-ms}. It is only used for a search whose latest ingest
+ * it is known to cover (ours, or one committed before the last sync); otherwise, or when it finds
+ * no company, the filter goes to LIKE.
+ * Relevance-ordered pages come from the full-text index ({@link JobTextIndex}) as ids and are then
+ * loaded from here.
+ */
+@Service
+public class JobStoreService implements JobSinkPort {
+
+    private final JobStoreProperties props;
+    private final StoredJobRepository jobs;
+    private final JobQueryLinkRepository links;
+    private final TransactionTemplate tx;
+    private final JobTextIndex textIndex;
+    private final ThreadPoolExecutor writer;
+    private final CompanyIndex companies = new CompanyIndex();
+    // another node's ingest may commit this long after the rows' seenAt (it is stamped just before the transaction)
+    private static final Duration COMPANY_SYNC_OVERLAP = Duration.ofSeconds(60);
+
+    private volatile Instant companiesSyncedAt; // jobs seen since then may name companies we lack
+    private final Map<String, Instant> ingestedHere = new ConcurrentHashMap<>(); // search -> seenAt of our latest ingest
+
+    public JobStoreService(JobStoreProperties props, StoredJobRepository jobs, JobQueryLinkRepository links,
+                           TransactionTemplate tx, JobTextIndex textIndex) {
+        this.props = props;
+        this.textIndex = textIndex;
+        this.jobs = jobs;
+        this.links = links;
+        this.tx = tx;
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, props.getMaxPendingBatches())), r -> {
+                    Thread t = new Thread(r, "job-ingest");
+                    t.setDaemon(true);
+                    return t;
+                }, (r, pool) -> System.out.println("[JobStore] ingest queue full, dropping a batch"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writer.shutdown();
+    }
+
+    // build the company index from what is already stored, on the writer so no ingest interleaves
+    @EventListener(ApplicationReadyEvent.class)
+    void loadCompanyIndex() {
+        if (props.isEnabled() && props.isCompanyIndex()) writer.execute(this::reloadCompanies);
+    }
+
+    @Override
+    public void accept(String queryKey, List<NormalizedJob> fetched, Map<String, String> descriptions) {
+        if (!props.isEnabled() || fetched.isEmpty()) return;
+        List<NormalizedJob> copy = List.copyOf(fetched);
+        writer.execute(() -> ingest(queryKey, copy));
+    }
+
+    /**
+     * One page of the stored results for {@code queryKey}, newest first (or ranked by relevance to
+     * {@code relevanceText} when given and the text index can answer), or empty if the search has
+     * not been ingested recently enough (or the database is unavailable).
+     */
+    public Optional<Page<StoredJob>> search(String queryKey, String source, Integer postedWithinDays,
+                                            String companyContains, String relevanceText, int page, int size) {
+        if (!props.isEnabled()) return Optional.empty();
+        try {
+            Instant last = links.lastIngestedAt(queryKey);
+            if (last == null || last.isBefore(Instant.now().minus(Duration.ofMinutes(props.getMaxAgeMinutes())))) {
+                return Optional.empty();
+            }
+            boolean dated = postedWithinDays != null && postedWithinDays > 0;
+            Instant since = dated ? Instant.now().minus(Duration.ofDays(postedWithinDays)) : Instant.EPOCH;
+            String src = source == null || "all".equalsIgnoreCase(source) ? "" : source.toLowerCase(Locale.ROOT);
+            Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, size));
+            Optional<Set<String>> inCompanies = companyContains == null || companyContains.isBlank()
+                    || !props.isCompanyIndex() || !companiesCover(queryKey, last)
+                    ? Optional.empty()
+                    : companies.containing(companyContains, props.getCompanyIndexMaxKeys());
+            if (relevanceText != null) {
+                String like = companyContains == null || companyContains.isBlank()
+                        ? null : companyContains.toLowerCase(Locale.ROOT);
+                Optional<Page<String>> ranked = textIndex.search(queryKey, last, src, dated, since,
+                        inCompanies.orElse(null), like, relevanceText, pageable);
+                if (ranked.isPresent()) return Optional.of(load(ranked.get()));
+            }
+            if (inCompanies.isPresent()) {
+                return Optional.of(jobs.searchInCompanies(queryKey, last, src, dated, since, inCompanies.get(), pageable));
+            }
+            // no company filter, or one the index cannot answer (short needle, no or too many matches)
+            return Optional.of(jobs.search(queryKey, last, src, dated, since, likePattern(companyContains), pageable));
+        } catch (RuntimeException e) {
+            System.out.println("[JobStore] search failed, falling back to live fetch: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.store.purge-interval-ms:3600000}")
+    public void purge() {
+        if (!props.isEnabled()) return;
+        Instant cutoff = Instant.now().minus(Duration.ofDays(props.getRetentionDays()));
+        try {
+            List<String> touched = props.isCompanyIndex() ? jobs.companyKeysNotSeenSince(cutoff) : List.of();
+            int l = links.deleteNotSeenSince(cutoff);
+            int j = jobs.deleteNotSeenSince(cutoff);
+            if (l + j > 0) System.out.printf("[JobStore] purged %d jobs, %d search links%n", j, l);
+            // drop the companies left without jobs
+            if (j > 0 && !touched.isEmpty()) writer.execute(() -> dropCompaniesWithoutJobs(touched));
+            Instant stale = Instant.now().minus(Duration.ofMinutes(props.getMaxAgeMinutes()));
+            ingestedHere.values().removeIf(t -> t.isBefore(stale)); // no longer answered from the store
+        } catch (RuntimeException e) {
+            System.out.println("[JobStore] purge failed: " + e.getMessage());
+        }
+    }
+
+    // companies other nodes ingested since the last sync (ours are added as we ingest)
+    @Scheduled(fixedDelayString = "${jobs.store.company-sync-interval-ms:300000}")
+    public void syncCompanies() {
+        Instant since = companiesSyncedAt;
+        if (!props.isEnabled() || !props.isCompanyIndex() || since == null) return;
+        writer.execute(() -> {
+            try {
+                Instant now = Instant.now();
+                // a little overlap: another node's transaction may commit rows stamped just before now
+                companies.addAll(jobs.companyKeysSeenSince(since.minus(COMPANY_SYNC_OVERLAP)));
+                companiesSyncedAt = now;
+            } catch (RuntimeException e) {
+                System.out.println("[JobStore] company sync failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Whether the company index holds every company of {@code queryKey}'s ingest at {@code ingestedAt}:
+     * we ran that ingest ourselves, or it committed before the last sync (less the overlap).
+     */
+    private boolean companiesCover(String queryKey, Instant ingestedAt) {
+        if (ingestedAt.equals(ingestedHere.get(queryKey))) return true;
+        Instant synced = companiesSyncedAt;
+        return synced != null && ingestedAt.isBefore(synced.minus(COMPANY_SYNC_OVERLAP));
+    }
+
+    // Upsert jobs and their links to the search in one transaction, stamped with one seenAt.
+    private void ingest(String queryKey, List<NormalizedJob> fetched) {
+        long start = System.currentTimeMillis();
+        // millisecond precision survives the database round trip, so lastIngestedAt compares equal
+        Instant seenAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Map<String, NormalizedJob> byId = new LinkedHashMap<>();
+        for (NormalizedJob n : fetched) if (n.getId() != null) byId.putIfAbsent(n.getId(), n);
+        try {
+            int created = tx.execute(status -> {
+                Map<String, StoredJob> existing = jobs.findAllById(byId.keySet()).stream()
+                        .collect(Collectors.toMap(StoredJob::getId, Function.identity()));
+                List<StoredJob> rows = new ArrayList<>(byId.size());
+                int fresh = 0;
+                for (NormalizedJob n : byId.values()) {
+                    StoredJob row = existing.get(n.getId());
+                    if (row == null) {
+                        row = StoredJob.firstSeen(n.getId(), seenAt);
+                        fresh++;
+                    }
+                    copy(n, row);
+                    row.setLastSeenAt(seenAt);
+                    rows.add(row);
+                }
+                jobs.saveAll(rows);
+
+                Map<String, JobQueryLink> linked = links.findByQueryKeyAndJobIdIn(queryKey, byId.keySet()).stream()
+                        .collect(Collectors.toMap(JobQueryLink::getJobId, Function.identity()));
+                List<JobQueryLink> linkRows = new ArrayList<>(byId.size());
+                for (String id : byId.keySet()) {
+                    JobQueryLink link = linked.get(id);
+                    if (link == null) link = new JobQueryLink(queryKey, id, seenAt);
+                    else link.setLastSeenAt(seenAt);
+                    linkRows.add(link);
+                }
+                links.saveAll(linkRows);
+                return fresh;
+            });
+            if (props.isCompanyIndex()) {
+                companies.addAll(byId.values().stream().map(n -> companyKey(n.getCompany())).toList());
+                ingestedHere.merge(queryKey, seenAt, (a, b) -> a.isAfter(b) ? a : b);
+            }
+            System.out.printf("[JobStore] ingested %d jobs (%d new) for '%s' in %d ms%n",
+                    byId.size(), created, queryKey, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            System.out.printf("[JobStore] ingest of '%s' failed: %s%n", queryKey, e.getMessage());
+        }
+    }
+
+    private static void copy(NormalizedJob n, StoredJob row) {
+        row.setTitle(n.getTitle());
+        row.setCompany(n.getCompany());
+        row.setCompanyKey(companyKey(n.getCompany()));
+        row.setLocation(n.getLocation());
+        row.setSource(n.getSource());
+        row.setApplyUrl(n.getApplyUrl());
+        row.setAlternates(n.getAlternates());
+        row.setPostedAt(n.hasPostedAt() ? Instant.ofEpochMilli(n.getPostedAtMs()) : null);
+    }
+
+    // ids in rank order -> rows in the same order (a job purged meanwhile is skipped)
+    private Page<StoredJob> load(Page<String> ids) {
+        Map<String, StoredJob> rows = jobs.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(StoredJob::getId, Function.identity()));
+        List<StoredJob> ordered = ids.getContent().stream().map(rows::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(ordered, ids.getPageable(), ids.getTotalElements());
+    }
+
+    private static String companyKey(String company) {
+        return company == null ? "" : company.toLowerCase(Locale.ROOT);
+    }
+
+    // Builds the company index from the stored jobs (startup).
+    private void reloadCompanies() {
+        try {
+            long start = System.currentTimeMillis();
+            Instant loadedAt = Instant.now();
+            companies.retainOnly(jobs.companyKeys());
+            companies.markLoaded();
+            companiesSyncedAt = loadedAt;
+            System.out.printf("[JobStore] company index: %d companies in %d ms%n",
+                    companies.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            System.out.println("[JobStore] company index load failed: " + e.getMessage());
+        }
+    }
+
+    // Of the companies whose jobs a purge deleted, removes those with no job left (checked in chunks).
+    private void dropCompaniesWithoutJobs(List<String> touched) {
+        try {
+            Set<String> gone = new HashSet<>(touched);
+            for (int i = 0; i < touched.size(); i += 1000) {
+                gone.removeAll(jobs.companyKeysIn(touched.subList(i, Math.min(touched.size(), i + 1000))));
+            }
+            companies.removeAll(gone);
+            if (!gone.isEmpty()) System.out.printf("[JobStore] company index: dropped %d companies%n", gone.size());
+        } catch (RuntimeException e) {
+            System.out.println("[JobStore] company index update failed: " + e.getMessage());
+        }
+    }
+
+    // "contains, case-insensitive" as a LIKE pattern with '!' as the escape character
+    private static String likePattern(String companyContains) {
+        if (companyContains == null || companyContains.isBlank()) return "%";
+        String q = companyContains.toLowerCase(Locale.ROOT)
+                .replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return "%" + q + "%";
+    }
+}
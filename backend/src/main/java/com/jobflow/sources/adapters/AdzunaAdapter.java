@@ -1,33 +1,50 @@
 // backend/src/main/java/com/jobflow/sources/adapters/AdzunaAdapter.java
 package com.jobflow.sources.adapters;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobflow.sources.http.RateLimit;
+import com.jobflow.sources.http.SourceHttp;
+import com.jobflow.sources.model.Deadline;
 import com.jobflow.sources.model.RawJob;
+import com.jobflow.sources.model.Since;
 import com.jobflow.sources.ports.JobFetchPort;
 import org.springframework.stereotype.Component;
 
-import java.net.URI;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Component
 public class AdzunaAdapter implements JobFetchPort {
 
-    private final HttpClient http = HttpClient.newHttpClient();
+    private final SourceHttp http;
     private final ObjectMapper mapper = new ObjectMapper();
     private final AdzunaProperties props;
 
-    public AdzunaAdapter(AdzunaProperties props) {
+    private final RateLimit rateLimit;
+
+    public AdzunaAdapter(AdzunaProperties props, SourceHttp http) {
         this.props = props;
+        this.http = http;
+        this.rateLimit = new RateLimit(props.getMinIntervalMs(), props.getRateBurst(), props.getMaxQueued());
     }
 
     @Override
@@ -35,62 +52,262 @@ public class AdzunaAdapter implements JobFetchPort {
 
     @Override
     public List<RawJob> fetch(String jobTitle, String location, boolean remoteOnly, int max) {
+        try {
+            return fetchAsync(jobTitle, location, remoteOnly, max, Runnable::run).join();
+        } catch (Exception e) {
+            System.out.println("[AdzunaAdapter] error: " + rootMessage(e));
+            return List.of();
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<RawJob>> fetchAsync(String jobTitle, String location, boolean remoteOnly,
+                                                      int max, Executor executor) {
+        return fetchFull(jobTitle, location, remoteOnly, max, Deadline.NONE);
+    }
+
+    private CompletableFuture<List<RawJob>> fetchFull(String jobTitle, String location, boolean remoteOnly, int max,
+                                                      Deadline deadline) {
         if (!props.isEnabled() || isBlank(props.getAppId()) || isBlank(props.getAppKey())) {
             System.out.println("[AdzunaAdapter] disabled or missing keys — skipping");
-            return List.of();
+            return JobFetchPort.answeredLocally(List.of());
         }
 
-        try {
-            int page = 1; // Adzuna pages start at 1
-            int rpp = Math.min(props.getResultsPerPage(), Math.max(1, 50)); // keep per-page sane
-            List<RawJob> out = new ArrayList<>();
-
-            while (out.size() < max && page <= 10) { // safety page cap
-                String url = buildUrl(page, rpp, jobTitle, location, remoteOnly);
-                HttpRequest req = HttpRequest.newBuilder(URI.create(url))
-                        .header("User-Agent", props.getUserAgent())
-                        .GET()
-                        .build();
-
-                HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-                if (resp.statusCode() < 200 || resp.statusCode() >= 300) {
-                    System.out.printf("[AdzunaAdapter] HTTP %d for %s%n", resp.statusCode(), url);
-                    break;
-                }
+        CompletableFuture<List<RawJob>> result = props.isPipelined()
+                ? new PagedFetch(jobTitle, location, remoteOnly, max, deadline).start()
+                : fetchSequential(jobTitle, location, remoteOnly, max, null, deadline);
+        result.thenAccept(list -> System.out.printf("[AdzunaAdapter] returning %d items for (%s, %s, remote=%s)%n",
+                list.size(), jobTitle, location, remoteOnly));
+        return result; // hand back the original so a caller's cancel reaches the page requests
+    }
+
+    /**
+     * Newest first ({@code sort_by=date}), limited to the days since the high-water mark
+     * ({@code max_days_old}), one page at a time until a page reaches a job we already have.
+     */
+    @Override
+    public CompletableFuture<List<RawJob>> fetchSinceAsync(String jobTitle, String location, boolean remoteOnly,
+                                                           int max, Since since, Deadline deadline, Executor executor) {
+        if (since == null) return fetchFull(jobTitle, location, remoteOnly, max, deadline);
+        if (!props.isEnabled() || isBlank(props.getAppId()) || isBlank(props.getAppKey())) {
+            return JobFetchPort.answeredLocally(List.of());
+        }
+        CompletableFuture<List<RawJob>> result = fetchSequential(jobTitle, location, remoteOnly, max, since, deadline);
+        result.thenAccept(list -> System.out.printf("[AdzunaAdapter] %d new items since %s for (%s, %s, remote=%s)%n",
+                list.size(), since.newestPostedAt(), jobTitle, location, remoteOnly));
+        return result;
+    }
+
+    private CompletableFuture<List<RawJob>> fetchSequential(String jobTitle, String location, boolean remoteOnly,
+                                                            int max, Since since, Deadline deadline) {
+        int rpp = Math.min(props.getResultsPerPage(), Math.max(1, props.getMaxResultsPerPage())); // keep per-page sane
+        List<RawJob> out = new ArrayList<>(); // only touched by one page callback at a time
+        CompletableFuture<List<RawJob>> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> inFlight = new AtomicReference<>();
+        // cancelling the result (e.g. orchestrator deadline) aborts the page being downloaded
+        result.whenComplete((r, e) -> {
+            var f = inFlight.get();
+            if (result.isCancelled() && f != null) f.cancel(true);
+        });
+
+        fetchPage(1, rpp, jobTitle, location, remoteOnly, max, since, deadline, out, result, inFlight); // Adzuna pages start at 1
+        return result;
+    }
+
+    // Fetches one page, then chains the next until max, an empty page, the safety page cap or
+    // (incremental) a page that reaches known jobs.
+    private void fetchPage(int page, int rpp, String jobTitle, String location, boolean remoteOnly, int max,
+                           Since since, Deadline deadline, List<RawJob> out, CompletableFuture<List<RawJob>> result,
+                           AtomicReference<CompletableFuture<?>> inFlight) {
+        if (result.isDone()) return; // cancelled or failed meanwhile
+        if (out.size() >= max || page > props.getMaxPages()) { // safety page cap
+            result.complete(out);
+            return;
+        }
+
+        String url = buildUrl(page, rpp, jobTitle, location, remoteOnly, since);
+        CompletableFuture<Page> call = send(url, max - out.size(), false, deadline);
+        inFlight.set(call);
+        call.whenComplete((pg, err) -> {
+            if (err != null) {
+                result.completeExceptionally(err);
+                return;
+            }
+            if (!pg.ok()) {
+                System.out.printf("[AdzunaAdapter] HTTP %d for %s%n", pg.status(), url);
+                // first page failing means the source is down; later pages just end the walk
+                if (page == 1) result.completeExceptionally(new IOException("HTTP " + pg.status()));
+                else result.complete(out);
+                return;
+            }
+            boolean caughtUp = false;
+            for (RawJob j : pg.items()) {
+                if (since != null && since.covers(j)) caughtUp = true; // newest first: the rest is known too
+                else out.add(j);
+            }
+            if (pg.items().isEmpty() || caughtUp) result.complete(out); // no more (new) results
+            else fetchPage(page + 1, rpp, jobTitle, location, remoteOnly, max, since, deadline, out, result, inFlight);
+        });
+    }
+
+    /**
+     * Pipelined walk: page 1 tells us the total {@code count}, which fixes how many pages are worth
+     * asking for; the rest then go out concurrently (at most {@code pageConcurrency} at a time) with
+     * pages as large as Adzuna allows. Pages are stitched back in page order, and as soon as the
+     * leading pages hold {@code max} items the result completes and outstanding pages are cancelled.
+     */
+    private final class PagedFetch {
+        private final String jobTitle, location;
+        private final boolean remoteOnly;
+        private final int max, rpp;
+        private final Deadline deadline;
+        private final CompletableFuture<List<RawJob>> result = new CompletableFuture<>();
+        private final Map<Integer, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+        // guarded by this
+        private final Map<Integer, List<RawJob>> pages = new HashMap<>();
+        private int lastPage = 1;   // known after page 1
+        private int nextPage = 2;
+        private int running;
+
+        PagedFetch(String jobTitle, String location, boolean remoteOnly, int max, Deadline deadline) {
+            this.deadline = deadline;
+            this.jobTitle = jobTitle;
+            this.location = location;
+            this.remoteOnly = remoteOnly;
+            this.max = max;
+            this.rpp = Math.max(1, Math.min(props.getMaxResultsPerPage(), Math.max(props.getResultsPerPage(), max)));
+        }
+
+        CompletableFuture<List<RawJob>> start() {
+            // done, failed or cancelled by the caller: nothing else is needed
+            result.whenComplete((r, e) -> inFlight.values().forEach(f -> f.cancel(true)));
+            request(1);
+            return result;
+        }
+
+        private void request(int page) {
+            String url = buildUrl(page, rpp, jobTitle, location, remoteOnly, null);
+            CompletableFuture<Page> call = send(url, rpp, page == 1, deadline);
+            inFlight.put(page, call);
+            if (result.isDone()) call.cancel(true); // lost the race with completion
+            call.whenComplete((pg, err) -> {
+                inFlight.remove(page);
+                onPage(page, url, pg, err);
+            });
+        }
+
+        private synchronized void onPage(int page, String url, Page pg, Throwable err) {
+            if (page > 1) running--;
+            if (result.isDone()) return;
+
+            List<RawJob> items = List.of();
+            if (err == null && pg.ok()) {
+                if (page == 1) lastPage = pagesFor(pg.count());
+                items = pg.items();
+            } else if (err == null) {
+                System.out.printf("[AdzunaAdapter] HTTP %d for %s%n", pg.status(), url);
+                err = new IOException("HTTP " + pg.status());
+            }
+
+            if (err != null && page == 1) { // first page failing means the source is down
+                result.completeExceptionally(err);
+                return;
+            }
+            // a failed or empty page ends the walk there; keep what came before it
+            if (items.isEmpty()) lastPage = Math.min(lastPage, page - 1);
+            else pages.put(page, items);
+
+            List<RawJob> prefix = new ArrayList<>();
+            int p = 1;
+            for (; p <= lastPage && pages.containsKey(p) && prefix.size() < max; p++) prefix.addAll(pages.get(p));
+            if (prefix.size() >= max || p > lastPage) {
+                result.complete(prefix.size() > max ? new ArrayList<>(prefix.subList(0, max)) : prefix);
+                return;
+            }
+
+            while (running < Math.max(1, props.getPageConcurrency()) && nextPage <= lastPage) {
+                running++;
+                request(nextPage++);
+            }
+        }
+
+        private int pagesFor(long count) {
+            int wanted = count >= 0 ? (int) Math.min(max, count) : max;
+            int n = Math.min(props.getMaxPages(), (wanted + rpp - 1) / rpp);
+            System.out.printf("[AdzunaAdapter] count=%s, fetching %d page(s) of %d%n", count >= 0 ? count : "?", n, rpp);
+            return Math.max(1, n);
+        }
+    }
+
+    /** One decoded page; {@code count} is Adzuna's total hit count, or -1 if not read. */
+    private record Page(int status, long count, List<RawJob> items) {
+        boolean ok() { return status >= 200 && status < 300; }
+    }
 
-                JsonNode root = mapper.readTree(resp.body());
-                JsonNode results = root.get("results");
-                int before = out.size();
-                if (results != null && results.isArray()) {
-                    for (JsonNode r : results) {
-                        String title = getText(r, "title");
-                        String company = getText(r.path("company"), "display_name");
-                        String locDisp = getText(r.path("location"), "display_name");
-                        String applyUrl = getText(r, "redirect_url");
-                        String created = getText(r, "created");
-                        String postedAt = null;
-                        try { if (created != null) postedAt = String.valueOf(ZonedDateTime.parse(created).toInstant()); } catch (Exception ignored) {}
-
-                        if (title == null || applyUrl == null) continue;
-                        out.add(new RawJob("adzuna", title, nonNull(company), nonNull(locDisp), applyUrl, postedAt, null));
-                        if (out.size() >= max) break;
+    private CompletableFuture<Page> send(String url, int max, boolean needCount, Deadline deadline) {
+        HttpRequest req = http.request(sourceKey(), url)
+                .header("User-Agent", props.getUserAgent())
+                .build();
+        // revalidated on refresh: a 304 hands back the page parsed last time
+        return http.stream(sourceKey(), req, rateLimit, url + "|" + max + "|" + needCount, deadline,
+                (status, body) -> readPage(status, body, max, needCount));
+    }
+
+    // Token-level read of only the fields we map; stops as soon as max results (and count, if needed) are in.
+    private Page readPage(int status, InputStream body, int max, boolean needCount) throws IOException {
+        if (status < 200 || status >= 300) return new Page(status, -1, List.of());
+        List<RawJob> items = new ArrayList<>();
+        long count = -1;
+        try (JsonParser p = mapper.getFactory().createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return new Page(status, count, items);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken t = p.nextToken();
+                if ("count".equals(field) && t.isNumeric()) {
+                    count = p.getLongValue();
+                } else if ("results".equals(field) && t == JsonToken.START_ARRAY) {
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        if (items.size() >= max) {
+                            if (!needCount || count >= 0) return new Page(status, count, List.copyOf(items));
+                            p.skipChildren(); // still looking for "count" further down
+                            continue;
+                        }
+                        RawJob j = readJob(p);
+                        if (j != null) items.add(j);
                     }
+                } else {
+                    p.skipChildren();
                 }
-                int added = out.size() - before;
-                if (added == 0) break; // no more results
-                page++;
+                if (items.size() >= max && (!needCount || count >= 0)) break;
             }
-            System.out.printf("[AdzunaAdapter] returning %d items for (%s, %s, remote=%s)%n",
-                    out.size(), jobTitle, location, remoteOnly);
-            return out;
-        } catch (Exception e) {
-            System.out.println("[AdzunaAdapter] error: " + e.getMessage());
-            return List.of();
         }
+        return new Page(status, count, List.copyOf(items));
     }
 
+    private RawJob readJob(JsonParser p) throws IOException {
+        String title = null, company = null, locDisp = null, applyUrl = null, created = null, description = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken t = p.nextToken();
+            switch (field) {
+                case "title" -> title = JsonStreams.text(p, t);
+                case "redirect_url" -> applyUrl = JsonStreams.text(p, t);
+                case "created" -> created = JsonStreams.text(p, t);
+                case "description" -> description = JsonStreams.text(p, t); // plain-text snippet
+                case "company" -> company = JsonStreams.nestedText(p, t, "display_name");
+                case "location" -> locDisp = JsonStreams.nestedText(p, t, "display_name");
+                default -> p.skipChildren();
+            }
+        }
+        String postedAt = null;
+        try { if (created != null) postedAt = String.valueOf(ZonedDateTime.parse(created).toInstant()); } catch (Exception ignored) {}
+
+        if (title == null || applyUrl == null) return null;
+        return new RawJob("adzuna", title, nonNull(company), nonNull(locDisp), applyUrl, postedAt, description);
+    }
 
-    private String buildUrl(int page, int rpp, String jobTitle, String location, boolean remoteOnly) {
+    private String buildUrl(int page, int rpp, String jobTitle, String location, boolean remoteOnly, Since since) {
         String base = props.getBaseUrl();
         // Example: https://api.adzuna.com/v1/api/jobs/in/search/1?app_id=...&app_key=...&results_per_page=20&what=java+developer&where=Bengaluru
         StringBuilder sb = new StringBuilder();
@@ -103,15 +320,23 @@ public class AdzunaAdapter implements JobFetchPort {
         if (!isBlank(jobTitle)) sb.append("&what=").append(url(jobTitle));
         if (!isBlank(location)) sb.append("&where=").append(url(location));
         if (remoteOnly) sb.append("&what_and=remote"); // loose filter
+        if (since != null) {
+            sb.append("&sort_by=date");
+            if (since.newestPostedAt() != null) {
+                // days since the mark, rounded up, plus a day of slack for time zones
+                long days = Duration.between(since.newestPostedAt(), Instant.now()).toDays() + 2;
+                sb.append("&max_days_old=").append(Math.max(1, days));
+            }
+        }
 
         return sb.toString();
     }
 
+    private static String rootMessage(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) e = e.getCause();
+        return e.getMessage();
+    }
     private static String url(String s) { return URLEncoder.encode(Objects.toString(s, ""), StandardCharsets.UTF_8); }
     private static boolean isBlank(String s) { return s == null || s.trim().isEmpty(); }
     private static String nonNull(String s) { return s == null ? "" : s.trim(); }
-    private static String getText(JsonNode node, String field) {
-        JsonNode x = node.get(field);
-        return (x != null && !x.isNull()) ? x.asText() : null;
-    }
 }
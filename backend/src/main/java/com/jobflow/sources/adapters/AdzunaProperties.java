@@ -11,6 +11,13 @@ public class AdzunaProperties {
     private String appKey;
     private int resultsPerPage = 20;
     private String userAgent = "JobFlowLearning/0.1";
+    private boolean pipelined = true;     // page 1 first, then the rest concurrently
+    private int pageConcurrency = 4;      // max pages in flight at once
+    private int maxResultsPerPage = 50;   // Adzuna's upper limit for results_per_page
+    private int maxPages = 10;            // safety cap
+    private long minIntervalMs = 100;     // rate limit: one request per interval on average (0 = off)
+    private int rateBurst = 5;            // requests that may go back to back
+    private int maxQueued = 50;           // callers waiting for a slot before new ones are refused
 
     public boolean isEnabled() { return enabled; }
     public void setEnabled(boolean enabled) { this.enabled = enabled; }
@@ -24,4 +31,18 @@ public class AdzunaProperties {
     public void setResultsPerPage(int resultsPerPage) { this.resultsPerPage = resultsPerPage; }
     public String getUserAgent() { return userAgent; }
     public void setUserAgent(String userAgent) { this.userAgent = userAgent; }
+    public boolean isPipelined() { return pipelined; }
+    public void setPipelined(boolean pipelined) { this.pipelined = pipelined; }
+    public int getPageConcurrency() { return pageConcurrency; }
+    public void setPageConcurrency(int pageConcurrency) { this.pageConcurrency = pageConcurrency; }
+    public int getMaxResultsPerPage() { return maxResultsPerPage; }
+    public void setMaxResultsPerPage(int maxResultsPerPage) { this.maxResultsPerPage = maxResultsPerPage; }
+    public int getMaxPages() { return maxPages; }
+    public void setMaxPages(int maxPages) { this.maxPages = maxPages; }
+    public long getMinIntervalMs() { return minIntervalMs; }
+    public void setMinIntervalMs(long minIntervalMs) { this.minIntervalMs = minIntervalMs; }
+    public int getRateBurst() { return rateBurst; }
+    public void setRateBurst(int rateBurst) { this.rateBurst = rateBurst; }
+    public int getMaxQueued() { return maxQueued; }
+    public void setMaxQueued(int maxQueued) { this.maxQueued = maxQueued; }
 }
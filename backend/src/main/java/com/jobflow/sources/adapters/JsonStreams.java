@@ -0,0 +1,38 @@
+package com.jobflow.sources.adapters;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/** Small helpers for token-level reading with Jackson's {@link JsonParser}. */
+final class JsonStreams {
+
+    private JsonStreams() { }
+
+    /** Text of the current value token, or null for null / objects / arrays (which are skipped). */
+    static String text(JsonParser p, JsonToken t) throws IOException {
+        if (t == null || t == JsonToken.VALUE_NULL) return null;
+        if (t.isStructStart()) {
+            p.skipChildren();
+            return null;
+        }
+        return p.getText();
+    }
+
+    /** For {@code "company": {"display_name": "..."}}: reads one field of a nested object. */
+    static String nestedText(JsonParser p, JsonToken t, String field) throws IOException {
+        if (t != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        String out = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken v = p.nextToken();
+            if (field.equals(name)) out = text(p, v);
+            else p.skipChildren();
+        }
+        return out;
+    }
+}
@@ -1,115 +1,175 @@
 // backend/src/main/java/com/jobflow/sources/adapters/NaukriAdapter.java
 package com.jobflow.sources.adapters;
 
+import com.jobflow.common.cache.CacheStats;
+import com.jobflow.common.cache.SimpleCache;
+import com.jobflow.sources.http.SourceHttp;
+import com.jobflow.sources.model.Deadline;
 import com.jobflow.sources.model.RawJob;
+import com.jobflow.sources.model.Since;
 import com.jobflow.sources.ports.JobFetchPort;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.net.CookieManager;
-import java.net.CookiePolicy;
-import java.net.URI;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
 
 @Component
 public class NaukriAdapter implements JobFetchPort {
 
-    private final HttpClient http;
+    // card containers per layout, and the generic job-link fallback
+    private static final Evaluator LAYOUT_A = QueryParser.parse("article.jobTuple, div.jobTuple, div.list > article");
+    private static final Evaluator LAYOUT_B = QueryParser.parse("div.jobTuple_bg, li.listing-item, div.srp-jobtuple");
+    private static final Evaluator FALLBACK_ANCHOR = QueryParser.parse("a[href*=\"naukri.com/\"]");
+    private static final int BOT_WALL_MAX_CHARS = 20_000;
+
+    private final SourceHttp sourceHttp;
+    private final NaukriSessionPool sessions; // each session has its own cookie jar and client
     private final NaukriProperties props;
-    private final CookieManager cookieManager ;
 
-    // Simple in-memory cache: key -> Entry(list, expiresAt)
-    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    // In-memory cache: key -> list, bounded by entries and by total cached cards
+    private final SimpleCache<String, List<RawJob>> cache;
 
-    public NaukriAdapter(NaukriProperties props) {
+    public NaukriAdapter(NaukriProperties props, SourceHttp sourceHttp) {
         this.props = props;
-        this.cookieManager = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
-        this.http = HttpClient.newBuilder()
-                .cookieHandler(cookieManager)
-                .followRedirects(HttpClient.Redirect.NORMAL)
-                .connectTimeout(Duration.ofSeconds(10))
+        this.sourceHttp = sourceHttp;
+        this.cache = SimpleCache.<String, List<RawJob>>builder(Duration.ofMinutes(props.getCacheTtlMinutes()))
+                .maxEntries(500)
+                .maxWeight(500L * props.getMaxResults(), List::size)
+                .name("naukri")
                 .build();
-
+        this.sessions = new NaukriSessionPool(props, sourceHttp);
     }
 
     @Override
     public String sourceKey() { return "naukri"; }
 
-    private void bootstrapCookies() {
+    @Override
+    public List<RawJob> fetch(String jobTitle, String location, boolean remoteOnly, int max) {
         try {
-            HttpRequest req = HttpRequest.newBuilder(URI.create(props.getBaseUrl()))
-                    .timeout(Duration.ofSeconds(10))
-                    .header("User-Agent", props.getUserAgent())
-                    .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
-                    .header("Accept-Language", "en-US,en;q=0.9")
-                    .header("Upgrade-Insecure-Requests", "1")
-                    // DO NOT set "Connection" / "Host" / "Content-Length" here
-                    .GET()
-                    .build();
-            HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-            System.out.printf("[NaukriAdapter] bootstrap %s -> %d%n", props.getBaseUrl(), resp.statusCode());
+            return fetchAsync(jobTitle, location, remoteOnly, max, Runnable::run).join();
         } catch (Exception e) {
-            System.out.println("[NaukriAdapter] bootstrap failed: " + e.getMessage());
+            // Log and continue with empty list
+            System.err.println("[NaukriAdapter] fetch error: " + rootMessage(e));
+            return List.of();
         }
     }
 
     @Override
-    public List<RawJob> fetch(String jobTitle, String location, boolean remoteOnly, int max) {
-        bootstrapCookies();
+    public CompletableFuture<List<RawJob>> fetchAsync(String jobTitle, String location, boolean remoteOnly,
+                                                      int max, Executor executor) {
+        return fetchFull(jobTitle, location, remoteOnly, max, Deadline.NONE);
+    }
+
+    private CompletableFuture<List<RawJob>> fetchFull(String jobTitle, String location, boolean remoteOnly, int max,
+                                                      Deadline deadline) {
         int hardCap = Math.min(max, props.getMaxResults());
         String key = cacheKey(jobTitle, location, remoteOnly, hardCap);
 
-        // 1) Cache hit?
-        CacheEntry hit = cache.get(key);
-        if (hit != null && hit.expiresAt.isAfter(Instant.now())) {
-            return hit.items;
-        }
+        // 1) Cache hit? No network at all.
+        Optional<List<RawJob>> hit = cache.get(key);
+        if (hit.isPresent()) return JobFetchPort.answeredLocally(hit.get());
+
+        // 2) Fetch, then cache; the original future goes back so a caller's cancel reaches the request
+        CompletableFuture<List<RawJob>> result = fetchPages(jobTitle, location, remoteOnly, hardCap, null, deadline);
+        result.thenAccept(list -> cache.put(key, list));
+        return result;
+    }
+
+    /**
+     * Incremental fetch: skips the adapter cache and stops reading the page at the first card whose
+     * link we already have. Naukri's relative "n days ago" dates are too coarse to compare, so only
+     * known links count.
+     */
+    @Override
+    public CompletableFuture<List<RawJob>> fetchSinceAsync(String jobTitle, String location, boolean remoteOnly,
+                                                           int max, Since since, Deadline deadline, Executor executor) {
+        if (since == null) return fetchFull(jobTitle, location, remoteOnly, max, deadline);
+        return fetchPages(jobTitle, location, remoteOnly, Math.min(max, props.getMaxResults()), since, deadline);
+    }
 
-        // 2) Build URLs (try path style first, then query style)
+    private CompletableFuture<List<RawJob>> fetchPages(String jobTitle, String location, boolean remoteOnly,
+                                                       int hardCap, Since since, Deadline deadline) {
+        // Build URLs (try path style first, then query style)
         String urlA = buildPathStyleUrl(jobTitle, location, remoteOnly);
         String urlB = buildQueryStyleUrl(jobTitle, location, remoteOnly);
 
-        List<RawJob> out = new ArrayList<>();
-        try {
-            politeDelay();
-
-            // Try A
-            String htmlA = get(urlA);
-            List<RawJob> a = parse(htmlA, jobTitle, location, hardCap);
-            out.addAll(a);
-
-            if (out.isEmpty()) {
-                // Try B if A yielded nothing
-                politeDelay();
-                String htmlB = get(urlB);
-                List<RawJob> b = parse(htmlB, jobTitle, location, hardCap);
-                out.addAll(b);
-            }
-        } catch (Exception e) {
-            // Log and continue with empty list
-            System.err.println("[NaukriAdapter] fetch error: " + e.getMessage());
-        }
+        CompletableFuture<List<RawJob>> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> inFlight = new AtomicReference<>();
+        NaukriSessionPool.Session session = sessions.acquire();
+        result.whenComplete((r, e) -> {
+            sessions.release(session);
+            var f = inFlight.get();
+            if (result.isCancelled() && f != null) f.cancel(true);
+        });
+
+        attempt(session, inFlight, urlA, urlB, jobTitle, location, hardCap, since, deadline, true)
+                .whenComplete((scan, err) -> {
+                    if (err != null) {
+                        result.completeExceptionally(err);
+                        return;
+                    }
+                    List<RawJob> list = scan.jobs();
+                    result.complete(List.copyOf(list.size() > hardCap ? list.subList(0, hardCap) : list));
+                });
+        return result;
+    }
+
+    /** Cards read from one page; {@code caughtUp} if reading stopped at an already known card. */
+    private record Scan(List<RawJob> jobs, boolean caughtUp) { }
+
+    // Try A, then B if A yielded nothing. A block (403 / bot wall) re-bootstraps the session and retries once.
+    private CompletableFuture<Scan> attempt(NaukriSessionPool.Session session, AtomicReference<CompletableFuture<?>> inFlight,
+                                            String urlA, String urlB, String jobTitle, String location, int hardCap,
+                                            Since since, Deadline deadline, boolean retryOnBlock) {
+        HttpClient http = session.http;
+        return track(inFlight, sessions.ready(session))
+                .thenCompose(v -> track(inFlight, sessions.throttle(urlA, deadline)))
+                .thenCompose(x -> track(inFlight, load(http, urlA, jobTitle, location, hardCap, since)))
+                .thenCompose(a -> a.jobs().isEmpty() && !a.caughtUp()
+                        ? track(inFlight, sessions.throttle(urlB, deadline))
+                                .thenCompose(x -> track(inFlight, load(http, urlB, jobTitle, location, hardCap, since)))
+                        : CompletableFuture.completedFuture(a))
+                .handle((scan, err) -> {
+                    if (err == null) return CompletableFuture.completedFuture(scan);
+                    if (retryOnBlock && unwrap(err) instanceof BlockedException) {
+                        sessions.invalidate(session);
+                        return attempt(session, inFlight, urlA, urlB, jobTitle, location, hardCap, since, deadline, false);
+                    }
+                    return CompletableFuture.<Scan>failedFuture(err);
+                })
+                .thenCompose(f -> f);
+    }
 
-        // 3) Cache
-        List<RawJob> limited = out.size() > hardCap ? out.subList(0, hardCap) : out;
-        cache.put(key, new CacheEntry(limited, Instant.now().plus(Duration.ofMinutes(props.getCacheTtlMinutes()))));
-        return limited;
+    // Remember the step currently running so cancelling the whole fetch can abort it.
+    private static <T> CompletableFuture<T> track(AtomicReference<CompletableFuture<?>> inFlight, CompletableFuture<T> step) {
+        inFlight.set(step);
+        return step;
     }
 
     // ----------------- helpers -----------------
@@ -148,9 +208,41 @@ public class NaukriAdapter implements JobFetchPort {
         return URLEncoder.encode(Objects.toString(s, ""), StandardCharsets.UTF_8);
     }
 
-    private String get(String url) throws IOException, InterruptedException {
-        HttpRequest req = HttpRequest.newBuilder(URI.create(url))
-                .timeout(Duration.ofSeconds(20))
+    // Fetches and parses one results page, streaming unless sources.naukri.stream-parse is off.
+    private CompletableFuture<Scan> load(HttpClient http, String url, String jobTitle, String location, int cap,
+                                         Since since) {
+        if (!props.isStreamParse()) {
+            return get(http, url).thenApply(html -> upTo(parse(html, jobTitle, location, cap), since));
+        }
+
+        return sourceHttp.stream(http, sourceKey(), request(url), (sc, body) -> {
+            Reader in = new InputStreamReader(body, StandardCharsets.UTF_8);
+            if (sc == 403) {
+                String preview = readUpTo(in, 400).replaceAll("\\s+", " ");
+                System.out.printf("[NaukriAdapter] GET %s -> 403%n", url);
+                System.out.println("[NaukriAdapter] 403 body preview: " + preview);
+                throw new BlockedException("HTTP 403 for " + url);
+            }
+            if (sc < 200 || sc >= 300) {
+                System.out.printf("[NaukriAdapter] GET %s -> %d%n", url, sc);
+                throw new IOException("HTTP " + sc + " for " + url);
+            }
+
+            // Challenge pages are small: look at the head before handing the rest to the parser
+            PushbackReader pr = new PushbackReader(in, BOT_WALL_MAX_CHARS);
+            String head = readUpTo(pr, BOT_WALL_MAX_CHARS);
+            if (head.length() < BOT_WALL_MAX_CHARS && looksLikeBotWall(head)) throw new BlockedException("bot wall at " + url);
+            pr.unread(head.toCharArray());
+
+            Scan out = streamParse(pr, location, cap, since);
+            System.out.printf("[NaukriAdapter] GET %s -> %d (%d %scards, streamed)%n",
+                    url, sc, out.jobs().size(), since == null ? "" : "new ");
+            return out;
+        });
+    }
+
+    private HttpRequest request(String url) {
+        return sourceHttp.request(sourceKey(), url)
                 .header("User-Agent", props.getUserAgent())
                 .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
                 .header("Accept-Language", "en-US,en;q=0.9")
@@ -159,25 +251,50 @@ public class NaukriAdapter implements JobFetchPort {
                 // DO NOT set "Connection", "Host", "Content-Length" (restricted)
                 .GET()
                 .build();
+    }
 
-        HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-        int sc = resp.statusCode();
-        String body = resp.body();
-        System.out.printf("[NaukriAdapter] GET %s -> %d (%d bytes)%n", url, sc, body == null ? 0 : body.length());
+    private CompletableFuture<String> get(HttpClient http, String url) {
+        HttpRequest req = request(url);
 
-        if (sc == 403) {
-            // Log a short preview so we know if it's a bot wall
-            String preview = body == null ? "" : body.substring(0, Math.min(400, body.length())).replaceAll("\\s+"," ");
-            System.out.println("[NaukriAdapter] 403 body preview: " + preview);
-        }
-        if (sc >= 200 && sc < 300) return body;
-        throw new IOException("HTTP " + sc + " for " + url);
+        return sourceHttp.send(http, sourceKey(), req).thenApply(resp -> {
+            int sc = resp.statusCode();
+            String body = resp.body();
+            System.out.printf("[NaukriAdapter] GET %s -> %d (%d bytes)%n", url, sc, body == null ? 0 : body.length());
+
+            if (sc == 403) {
+                // Log a short preview so we know if it's a bot wall
+                String preview = body == null ? "" : body.substring(0, Math.min(400, body.length())).replaceAll("\\s+"," ");
+                System.out.println("[NaukriAdapter] 403 body preview: " + preview);
+                throw new CompletionException(new BlockedException("HTTP 403 for " + url));
+            }
+            if (sc >= 200 && sc < 300) {
+                if (looksLikeBotWall(body)) throw new CompletionException(new BlockedException("bot wall at " + url));
+                return body;
+            }
+            throw new CompletionException(new IOException("HTTP " + sc + " for " + url));
+        });
+    }
+
+
+    // Challenge pages come back as 200 with a tiny body and no job markup
+    private static boolean looksLikeBotWall(String body) {
+        if (body == null || body.length() > BOT_WALL_MAX_CHARS) return false;
+        String b = body.toLowerCase(Locale.ROOT);
+        return b.contains("captcha") || b.contains("access denied") || b.contains("are you a robot");
+    }
+
+    /** Naukri refused this session (403 or a challenge page). */
+    private static final class BlockedException extends IOException {
+        BlockedException(String msg) { super(msg); }
     }
 
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) e = e.getCause();
+        return e;
+    }
 
-    private void politeDelay() {
-        int ms = Math.max(0, props.getMinDelayMs());
-        if (ms > 0) try { Thread.sleep(ms); } catch (InterruptedException ignored) {}
+    private static String rootMessage(Throwable e) {
+        return unwrap(e).getMessage();
     }
 
     private List<RawJob> parse(String html, String jobTitle, String location, int cap) {
@@ -204,62 +321,140 @@ public class NaukriAdapter implements JobFetchPort {
         return results;
     }
 
+    // Cards before the first known one (all of them for a full fetch).
+    private static Scan upTo(List<RawJob> cards, Since since) {
+        if (since == null) return new Scan(cards, false);
+        for (int i = 0; i < cards.size(); i++) {
+            if (since.knownUrls().contains(cards.get(i).getApplyUrl())) return new Scan(cards.subList(0, i), true);
+        }
+        return new Scan(cards, false);
+    }
+
+    /**
+     * Incremental parse: elements are examined as soon as their closing tag has been read. The first
+     * element matching a known card layout fixes the layout; after that only that layout's cards are
+     * extracted (and detached, so the tree stays small) and reading stops at {@code cap}, or with a
+     * {@code since} mark at the first card we already have. Job-like anchors are collected on the
+     * side in case no card layout ever shows up.
+     */
+    private Scan streamParse(Reader in, String location, int cap, Since since) throws IOException {
+        List<RawJob> cards = new ArrayList<>();
+        List<RawJob> anchors = new ArrayList<>();
+        Evaluator layout = null;
+        try (StreamParser streamer = new StreamParser(Parser.htmlParser())) {
+            streamer.parse(in, props.getBaseUrl());
+            Iterator<Element> it = streamer.iterator();
+            while (it.hasNext()) {
+                Element el = it.next();
+                if (layout == null) {
+                    if (el.is(LAYOUT_A)) layout = LAYOUT_A;
+                    else if (el.is(LAYOUT_B)) layout = LAYOUT_B;
+                }
+                if (layout != null && el.is(layout)) {
+                    RawJob job = layout == LAYOUT_A ? cardA(el) : cardB(el);
+                    el.remove();
+                    if (job == null) continue;
+                    if (since != null && since.knownUrls().contains(job.getApplyUrl())) {
+                        streamer.stop();
+                        return new Scan(cards, true);
+                    }
+                    cards.add(job);
+                    if (cards.size() >= cap) {
+                        streamer.stop();
+                        break;
+                    }
+                } else if (layout == null && anchors.size() < cap && el.is(FALLBACK_ANCHOR)) {
+                    RawJob job = anchorJob(el, location);
+                    if (job != null) anchors.add(job);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return cards.isEmpty() ? upTo(anchors, since) : new Scan(cards, false);
+    }
+
     // ---- Layout A (example selectors; tweak if site changes) ----
     private List<RawJob> parseLayoutA(Document doc, int cap) {
         List<RawJob> out = new ArrayList<>();
         // Try a specific container that looks like a job card
-        Elements cards = doc.select("article.jobTuple, div.jobTuple, div.list > article");
-        for (Element card : cards) {
-            String title = textOr(card.selectFirst("a.title, a[title]"));
-            String company = textOr(card.selectFirst(".subTitle, .companyInfo span, a.company"));
-            String loc = textOr(card.selectFirst(".ellipsis.loc, .location, .loc"));
-            String url = hrefOr(card.selectFirst("a.title, a[href*=\"/job-\"], a[href*=\"/jobs/\"]"));
-            String postedAt = String.valueOf(parsePostedAt(card.selectFirst(".type br + span, .type, .date, .posted, time")));
-
-            if (url == null || title == null) continue;
-            out.add(new RawJob("naukri", title, nonNull(company), nonNull(loc), absolutize(url), postedAt, null));
+        for (Element card : doc.select(LAYOUT_A)) {
+            RawJob job = cardA(card);
+            if (job == null) continue;
+            out.add(job);
             if (out.size() >= cap) break;
         }
         return out;
     }
 
+    private RawJob cardA(Element card) {
+        String title = textOr(card.selectFirst("a.title, a[title]"));
+        String company = textOr(card.selectFirst(".subTitle, .companyInfo span, a.company"));
+        String loc = textOr(card.selectFirst(".ellipsis.loc, .location, .loc"));
+        String url = hrefOr(card.selectFirst("a.title, a[href*=\"/job-\"], a[href*=\"/jobs/\"]"));
+        String postedAt = Objects.toString(parsePostedAt(card.selectFirst(".type br + span, .type, .date, .posted, time")), null);
+        String desc = textOr(card.selectFirst(".job-desc, .job-description"));
+
+        if (url == null || title == null) return null;
+        return new RawJob("naukri", title, nonNull(company), nonNull(loc), absolutize(url), postedAt, desc);
+    }
+
     // ---- Layout B (another common set of selectors) ----
     private List<RawJob> parseLayoutB(Document doc, int cap) {
         List<RawJob> out = new ArrayList<>();
-        Elements cards = doc.select("div.jobTuple_bg, li.listing-item, div.srp-jobtuple");
-        for (Element card : cards) {
-            String title = textOr(card.selectFirst("a.title, a[title], a[href*=\"/job-\"]"));
-            String company = textOr(card.selectFirst(".subTitle, .company, .companyName"));
-            String loc = textOr(card.selectFirst(".location, .loc"));
-            String url = hrefOr(card.selectFirst("a[href*=\"/job-\"], a[href*=\"/jobs/\"]"));
-            String postedAt = String.valueOf(parsePostedAt(card.selectFirst("time, .date, .posted")));
-
-            if (url == null || title == null) continue;
-            out.add(new RawJob("naukri", title, nonNull(company), nonNull(loc), absolutize(url), postedAt, null));
+        for (Element card : doc.select(LAYOUT_B)) {
+            RawJob job = cardB(card);
+            if (job == null) continue;
+            out.add(job);
             if (out.size() >= cap) break;
         }
         return out;
     }
 
+    private RawJob cardB(Element card) {
+        String title = textOr(card.selectFirst("a.title, a[title], a[href*=\"/job-\"]"));
+        String company = textOr(card.selectFirst(".subTitle, .company, .companyName"));
+        String loc = textOr(card.selectFirst(".location, .loc"));
+        String url = hrefOr(card.selectFirst("a[href*=\"/job-\"], a[href*=\"/jobs/\"]"));
+        String postedAt = Objects.toString(parsePostedAt(card.selectFirst("time, .date, .posted")), null);
+        String desc = textOr(card.selectFirst(".job-desc, .job-description"));
+
+        if (url == null || title == null) return null;
+        return new RawJob("naukri", title, nonNull(company), nonNull(loc), absolutize(url), postedAt, desc);
+    }
+
     // ---- Layout C (generic fallback) ----
     private List<RawJob> parseFallback(Document doc, String jobTitle, String location, int cap) {
         List<RawJob> out = new ArrayList<>();
         // Look for likely job links: anchors containing job terms and pointing within naukri
-        Elements anchors = doc.select("a[href*=\"naukri.com/\"]");
-        for (Element a : anchors) {
-            String text = a.text();
-            String href = a.absUrl("href");
-            if (text == null || text.isBlank()) continue;
-            if (href == null || href.isBlank()) continue;
-            // Heuristic: likely job links contain '/job-' or '/jobs/' and have meaningful text
-            if ((href.contains("/job-") || href.contains("/jobs/")) && text.length() > 5) {
-                out.add(new RawJob("naukri", text, "", nonNull(location), href, null, null));
-                if (out.size() >= cap) break;
-            }
+        for (Element a : doc.select(FALLBACK_ANCHOR)) {
+            RawJob job = anchorJob(a, location);
+            if (job == null) continue;
+            out.add(job);
+            if (out.size() >= cap) break;
         }
         return out;
     }
 
+    private RawJob anchorJob(Element a, String location) {
+        String text = a.text();
+        String href = a.absUrl("href");
+        if (text == null || text.isBlank()) return null;
+        if (href == null || href.isBlank()) return null;
+        // Heuristic: likely job links contain '/job-' or '/jobs/' and have meaningful text
+        if ((href.contains("/job-") || href.contains("/jobs/")) && text.length() > 5) {
+            return new RawJob("naukri", text, "", nonNull(location), href, null, null);
+        }
+        return null;
+    }
+
+    private static String readUpTo(Reader in, int max) throws IOException {
+        char[] buf = new char[max];
+        int n = 0, r;
+        while (n < max && (r = in.read(buf, n, max - n)) > 0) n += r;
+        return new String(buf, 0, n);
+    }
+
     private String textOr(Element el) { return el == null ? null : el.text().trim(); }
     private String hrefOr(Element el) { return el == null ? null : el.hasAttr("href") ? el.attr("href").trim() : null; }
     private String nonNull(String s) { return s == null ? "" : s.trim(); }
@@ -310,12 +505,5 @@ public class NaukriAdapter implements JobFetchPort {
         return -1;
     }
 
-    private static class CacheEntry {
-        final List<RawJob> items;
-        final Instant expiresAt;
-        CacheEntry(List<RawJob> items, Instant expiresAt) {
-            this.items = List.copyOf(items);
-            this.expiresAt = expiresAt;
-        }
-    }
+    public CacheStats cacheStats() { return cache.stats(); }
 }
@@ -17,9 +17,24 @@ public class NaukriProperties {
     /** Max results per source (safety cap) */
     private int maxResults = 50;
 
-    /** Optional tiny delay (ms) to be polite */
+    /** Politeness: at most one request per minDelayMs to the Naukri host, across all users */
     private int minDelayMs = 300;
 
+    /** Requests allowed back to back before minDelayMs spacing applies */
+    private int rateBurst = 1;
+
+    /** Requests waiting for a slot before new ones are refused */
+    private int maxQueued = 20;
+
+    /** Independent cookie sessions used for concurrent queries */
+    private int sessionPoolSize = 2;
+
+    /** How long a bootstrapped session is trusted before re-visiting the homepage */
+    private int sessionTtlMinutes = 30;
+
+    /** Parse result pages incrementally and stop reading once maxResults cards are in */
+    private boolean streamParse = true;
+
     /** Custom UA */
     private String userAgent = "JobFlowBot/0.1 (learning project; contact: you@example.com)";
 
@@ -34,4 +49,14 @@ public class NaukriProperties {
     public void setMinDelayMs(int minDelayMs) { this.minDelayMs = minDelayMs; }
     public String getUserAgent() { return userAgent; }
     public void setUserAgent(String userAgent) { this.userAgent = userAgent; }
+    public int getSessionPoolSize() { return sessionPoolSize; }
+    public void setSessionPoolSize(int sessionPoolSize) { this.sessionPoolSize = sessionPoolSize; }
+    public int getSessionTtlMinutes() { return sessionTtlMinutes; }
+    public void setSessionTtlMinutes(int sessionTtlMinutes) { this.sessionTtlMinutes = sessionTtlMinutes; }
+    public boolean isStreamParse() { return streamParse; }
+    public void setStreamParse(boolean streamParse) { this.streamParse = streamParse; }
+    public int getRateBurst() { return rateBurst; }
+    public void setRateBurst(int rateBurst) { this.rateBurst = rateBurst; }
+    public int getMaxQueued() { return maxQueued; }
+    public void setMaxQueued(int maxQueued) { this.maxQueued = maxQueued; }
 }
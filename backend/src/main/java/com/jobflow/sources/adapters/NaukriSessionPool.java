@@ -0,0 +1,111 @@
+package com.jobflow.sources.adapters;
+
+import com.jobflow.sources.http.RateLimit;
+import com.jobflow.sources.http.SourceHttp;
+import com.jobflow.sources.model.Deadline;
+
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A few independent Naukri browser-like sessions, each with its own cookie jar and client.
+ * Sessions bootstrap lazily (homepage GET to collect cookies) on first use, stay valid for
+ * {@code sessionTtlMinutes}, and are re-bootstrapped early only when Naukri pushes back
+ * (403 / bot wall). Concurrent fetches pick the least busy session instead of sharing one jar.
+ */
+class NaukriSessionPool {
+
+    private final NaukriProperties props;
+    private final SourceHttp sourceHttp;
+    private final List<Session> sessions = new ArrayList<>();
+    private final RateLimit rateLimit; // shared by every session: the limit is per host, not per jar
+
+    NaukriSessionPool(NaukriProperties props, SourceHttp sourceHttp) {
+        this.props = props;
+        this.sourceHttp = sourceHttp;
+        this.rateLimit = new RateLimit(Math.max(0, props.getMinDelayMs()), props.getRateBurst(), props.getMaxQueued());
+        for (int i = 0; i < Math.max(1, props.getSessionPoolSize()); i++) sessions.add(new Session(i));
+    }
+
+    Session acquire() {
+        Session s = sessions.stream().min(Comparator.comparingInt(x -> x.busy.get())).orElseThrow();
+        s.busy.incrementAndGet();
+        return s;
+    }
+
+    void release(Session s) {
+        s.busy.decrementAndGet();
+    }
+
+    /** Completes once the session has fresh cookies; a failed bootstrap is logged, not fatal. */
+    CompletableFuture<Void> ready(Session s) {
+        synchronized (s) {
+            long ttlMs = TimeUnit.MINUTES.toMillis(props.getSessionTtlMinutes());
+            if (s.bootstrappedAtMs > 0 && System.currentTimeMillis() - s.bootstrappedAtMs < ttlMs) {
+                return CompletableFuture.completedFuture(null);
+            }
+            if (s.bootstrapping == null || s.bootstrapping.isDone()) s.bootstrapping = bootstrap(s);
+            return s.bootstrapping.thenApply(v -> v); // one caller cancelling must not cancel the shared bootstrap
+        }
+    }
+
+    /** Waits (without a thread) for the next Naukri request slot; fails fast if it is too far off. */
+    CompletableFuture<Void> throttle(String url, Deadline deadline) {
+        return sourceHttp.throttle("naukri", url, rateLimit, deadline);
+    }
+
+    /** Drops the session's cookies so the next {@link #ready} bootstraps again. */
+    void invalidate(Session s) {
+        synchronized (s) {
+            s.bootstrappedAtMs = 0;
+            s.cookies.getCookieStore().removeAll();
+        }
+        System.out.printf("[NaukriAdapter] session %d invalidated%n", s.id);
+    }
+
+    private CompletableFuture<Void> bootstrap(Session s) {
+        HttpRequest req = sourceHttp.request("naukri", props.getBaseUrl())
+                .header("User-Agent", props.getUserAgent())
+                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+                .header("Accept-Language", "en-US,en;q=0.9")
+                .header("Upgrade-Insecure-Requests", "1")
+                // DO NOT set "Connection" / "Host" / "Content-Length" here
+                .build();
+        return throttle(props.getBaseUrl(), Deadline.NONE) // shared by every fetch on the session
+                .thenCompose(v -> sourceHttp.sendDiscarding(s.http, "naukri", req))
+                .handle((status, err) -> {
+                    if (err != null) {
+                        Throwable c = err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+                        System.out.printf("[NaukriAdapter] session %d bootstrap failed: %s%n", s.id, c.getMessage());
+                        return null;
+                    }
+                    System.out.printf("[NaukriAdapter] session %d bootstrap %s -> %d%n", s.id, props.getBaseUrl(), status);
+                    if (status < 400) {
+                        synchronized (s) { s.bootstrappedAtMs = System.currentTimeMillis(); }
+                    }
+                    return null;
+                });
+    }
+
+    final class Session {
+        final int id;
+        final CookieManager cookies = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+        final HttpClient http = sourceHttp.clientBuilder().cookieHandler(cookies).build();
+        final AtomicInteger busy = new AtomicInteger();
+
+        // guarded by this
+        private long bootstrappedAtMs;
+        private CompletableFuture<Void> bootstrapping;
+
+        private Session(int id) { this.id = id; }
+    }
+}
@@ -1,28 +1,42 @@
 package com.jobflow.sources.adapters;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobflow.sources.http.RateLimit;
+import com.jobflow.sources.http.SourceHttp;
 import com.jobflow.sources.model.RawJob;
 import com.jobflow.sources.ports.JobFetchPort;
 import org.springframework.stereotype.Component;
 
-import java.net.URI;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 @Component
 public class RemotiveAdapter implements JobFetchPort {
 
-    private final HttpClient http = HttpClient.newHttpClient();
+    private final SourceHttp http;
     private final ObjectMapper mapper = new ObjectMapper();
+    private final RemotiveProperties props;
+    private final RemotiveCatalog catalog;
+
+    public RemotiveAdapter(SourceHttp http, RemotiveProperties props, RemotiveCatalog catalog) {
+        this.http = http;
+        this.props = props;
+        this.catalog = catalog;
+    }
 
     @Override
     public String sourceKey() { return "remotive"; }
@@ -30,50 +44,94 @@ public class RemotiveAdapter implements JobFetchPort {
     @Override
     public List<RawJob> fetch(String jobTitle, String location, boolean remoteOnly, int max) {
         try {
-            // Remotive API: https://remotive.com/api/remote-jobs?search=java%20developer
-            // It’s a remote‑only board; ignore location unless you want to filter client‑side.
-            String q = url(Objects.toString(jobTitle, "").trim());
-            String url = "https://remotive.com/api/remote-jobs?search=" + q;
+            return fetchAsync(jobTitle, location, remoteOnly, max, Runnable::run).join();
+        } catch (Exception e) {
+            System.out.println("[RemotiveAdapter] error: " + rootMessage(e));
+            return List.of();
+        }
+    }
 
-            HttpRequest req = HttpRequest.newBuilder(URI.create(url))
-                    .header("User-Agent", "JobFlowLearning/0.1")
-                    .GET().build();
+    @Override
+    public CompletableFuture<List<RawJob>> fetchAsync(String jobTitle, String location, boolean remoteOnly,
+                                                      int max, Executor executor) {
+        // Mirror mode: answered from the locally synced catalog, no upstream call
+        if (props.isMirror() && catalog.isReady()) {
+            List<RawJob> out = catalog.search(jobTitle, location, max);
+            System.out.printf("[RemotiveAdapter] returning %d items from mirror (%d jobs) for (%s, %s, remote=%s)%n",
+                    out.size(), catalog.size(), jobTitle, location, remoteOnly);
+            return JobFetchPort.answeredLocally(out);
+        }
 
-            HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-            if (resp.statusCode() < 200 || resp.statusCode() >= 300) {
-                System.out.printf("[RemotiveAdapter] HTTP %d for %s%n", resp.statusCode(), url);
-                return List.of();
-            }
+        // Remotive API: https://remotive.com/api/remote-jobs?search=java%20developer
+        // It’s a remote‑only board; ignore location unless you want to filter client‑side.
+        String q = url(Objects.toString(jobTitle, "").trim());
+        String url = props.getBaseUrl() + "?search=" + q;
 
-            JsonNode root = mapper.readTree(resp.body());
-            JsonNode jobs = root.get("jobs");
-            List<RawJob> out = new ArrayList<>();
-            if (jobs != null && jobs.isArray()) {
-                for (JsonNode j : jobs) {
-                    String title = text(j, "title");
-                    String company = text(j, "company_name");
-                    String apply = text(j, "url");
-                    String created = text(j, "publication_date"); // ISO
-                    String postedAt = null;
-                    try { if (created != null) postedAt = String.valueOf(ZonedDateTime.parse(created).toInstant()); } catch (Exception ignored) {}
+        HttpRequest req = http.request(sourceKey(), url)
+                .header("User-Agent", props.getUserAgent())
+                .build();
 
-                    if (title == null || apply == null) continue;
-                    // Remotive is remote by nature; location often empty → keep user’s location if provided
-                    String loc = Objects.toString(location, "").trim();
-                    out.add(new RawJob("remotive", title, nn(company), nn(loc), apply, postedAt, null));
-                    if (out.size() >= max) break;
+        // the payload carries full HTML descriptions: stream it and stop reading at max
+        CompletableFuture<List<RawJob>> result = http.stream(sourceKey(), req, RateLimit.NONE, url + "|" + location + "|" + max, (status, body) -> {
+            if (status < 200 || status >= 300) {
+                System.out.printf("[RemotiveAdapter] HTTP %d for %s%n", status, url);
+                throw new IOException("HTTP " + status);
+            }
+            return parse(body, location, max);
+        });
+        result.thenAccept(out -> System.out.printf("[RemotiveAdapter] returning %d items for (%s, %s, remote=%s)%n",
+                out.size(), jobTitle, location, remoteOnly));
+        return result; // cancelling it aborts the download
+    }
+
+    private List<RawJob> parse(InputStream body, String location, int max) throws IOException {
+        List<RawJob> out = new ArrayList<>();
+        try (JsonParser p = mapper.getFactory().createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return out;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken t = p.nextToken();
+                if (!"jobs".equals(field) || t != JsonToken.START_ARRAY) {
+                    p.skipChildren();
+                    continue;
+                }
+                while (out.size() < max && p.nextToken() == JsonToken.START_OBJECT) {
+                    RawJob j = readJob(p, location);
+                    if (j != null) out.add(j);
                 }
+                break; // everything we need is in "jobs"
+            }
+        }
+        return out;
+    }
+
+    // Reads one job object; "description" and other large fields are skipped without being decoded.
+    private RawJob readJob(JsonParser p, String location) throws IOException {
+        String title = null, company = null, apply = null, created = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken t = p.nextToken();
+            switch (field) {
+                case "title" -> title = JsonStreams.text(p, t);
+                case "company_name" -> company = JsonStreams.text(p, t);
+                case "url" -> apply = JsonStreams.text(p, t);
+                case "publication_date" -> created = JsonStreams.text(p, t); // ISO
+                default -> p.skipChildren();
             }
-            System.out.printf("[RemotiveAdapter] returning %d items for (%s, %s, remote=%s)%n",
-                    out.size(), jobTitle, location, remoteOnly);
-            return out;
-        } catch (Exception e) {
-            System.out.println("[RemotiveAdapter] error: " + e.getMessage());
-            return List.of();
         }
+        String postedAt = null;
+        try { if (created != null) postedAt = String.valueOf(ZonedDateTime.parse(created).toInstant()); } catch (Exception ignored) {}
+
+        if (title == null || apply == null) return null;
+        // Remotive is remote by nature; location often empty → keep user’s location if provided
+        String loc = Objects.toString(location, "").trim();
+        return new RawJob("remotive", title, nn(company), nn(loc), apply, postedAt, null);
     }
 
+    private static String rootMessage(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) e = e.getCause();
+        return e.getMessage();
+    }
     private static String url(String s) { return URLEncoder.encode(s, StandardCharsets.UTF_8); }
-    private static String text(JsonNode n, String f) { var x = n.get(f); return x!=null && !x.isNull() ? x.asText() : null; }
     private static String nn(String s) { return s == null ? "" : s.trim(); }
 }
@@ -0,0 +1,264 @@
+package com.jobflow.sources.adapters;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobflow.sources.http.RateLimit;
+import com.jobflow.sources.http.SourceHttp;
+import com.jobflow.sources.model.RawJob;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local mirror of the whole Remotive catalog. A scheduled sync pulls {@code remote-jobs} (no search
+ * term), upserts by job id when {@code publication_date} changed, drops ids that disappeared, and
+ * rebuilds a small inverted index over title / company / category / tags. Queries are then answered
+ * in-process.
+ *
+ * <p>An empty catalog, or one missing more than {@code maxDropFraction} of the mirror, is treated as
+ * a bad response: nothing is dropped, unless the next sync is missing them too.
+ */
+@Component
+public class RemotiveCatalog {
+
+    private static final Set<String> ANYWHERE = Set.of("", "worldwide", "anywhere", "global", "remote");
+
+    private final RemotiveProperties props;
+    private final SourceHttp http;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicBoolean syncing = new AtomicBoolean();
+
+    private final Map<Long, Listing> byId = new ConcurrentHashMap<>();
+    private volatile Index index = Index.EMPTY;
+    private volatile long lastSyncMs;
+    private boolean shrinkHeldBack; // the previous sync was missing too many jobs (only touched by merge)
+
+    public RemotiveCatalog(RemotiveProperties props, SourceHttp http) {
+        this.props = props;
+        this.http = http;
+    }
+
+    /** True once at least one sync has completed. */
+    public boolean isReady() { return lastSyncMs > 0; }
+
+    public int size() { return index.listings.size(); }
+
+    @Scheduled(fixedDelayString = "${sources.remotive.sync-interval-ms:1800000}")
+    public void sync() {
+        if (!props.isMirror() || !syncing.compareAndSet(false, true)) return;
+        long start = System.currentTimeMillis();
+        HttpRequest req = http.request("remotive", props.getBaseUrl())
+                .header("User-Agent", props.getUserAgent())
+                .build();
+        // a 304 returns the listings parsed last time, so the merge below finds nothing changed
+        http.stream("remotive", req, RateLimit.NONE, "remotive|catalog", (status, body) -> {
+                    if (status < 200 || status >= 300) throw new IOException("HTTP " + status);
+                    return readCatalog(body);
+                })
+                .whenComplete((listings, err) -> {
+                    try {
+                        if (err != null) {
+                            System.out.println("[RemotiveCatalog] sync failed: " + err.getMessage());
+                            return;
+                        }
+                        merge(listings, start);
+                    } finally {
+                        syncing.set(false);
+                    }
+                });
+    }
+
+    /**
+     * Jobs whose indexed text contains every token of {@code jobTitle}, limited to listings open to
+     * {@code location} (or to anyone), best title matches first, newest first within a tie.
+     */
+    public List<RawJob> search(String jobTitle, String location, int max) {
+        Index idx = index;
+        List<String> tokens = tokens(jobTitle);
+        String loc = Objects.toString(location, "").trim().toLowerCase(Locale.ROOT);
+
+        Collection<Integer> hits;
+        if (tokens.isEmpty()) {
+            hits = new ArrayList<>();
+            for (int i = 0; i < idx.listings.size(); i++) hits.add(i);
+        } else {
+            Set<Integer> acc = null;
+            for (String t : tokens) {
+                List<Integer> postings = idx.postings.getOrDefault(t, List.of());
+                if (acc == null) acc = new LinkedHashSet<>(postings);
+                else acc.retainAll(new HashSet<>(postings));
+                if (acc.isEmpty()) return List.of();
+            }
+            hits = acc;
+        }
+
+        return hits.stream()
+                .map(idx.listings::get)
+                .filter(l -> openTo(l, loc))
+                .sorted(Comparator.comparingInt((Listing l) -> -titleMatches(l, tokens))
+                        .thenComparing(l -> l.postedAt, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(max)
+                .map(l -> new RawJob("remotive", l.title, l.company,
+                        l.requiredLocation.isBlank() ? loc : l.requiredLocation, l.url, l.postedAt, l.keywords))
+                .toList();
+    }
+
+    // ---- sync ----
+
+    private void merge(List<Listing> latest, long start) {
+        if (latest.isEmpty() && !byId.isEmpty()) {
+            System.out.printf("[RemotiveCatalog] sync returned no jobs, keeping the %d mirrored%n", byId.size());
+            return;
+        }
+        Set<Long> seen = new HashSet<>();
+        for (Listing l : latest) seen.add(l.id);
+        long missing = byId.keySet().stream().filter(id -> !seen.contains(id)).count();
+        boolean suspicious = missing > byId.size() * props.getMaxDropFraction();
+        boolean drop = !suspicious || shrinkHeldBack; // a second sync in a row confirms the shrink
+        shrinkHeldBack = suspicious && !drop;
+        if (!drop) {
+            System.out.printf("[RemotiveCatalog] sync is missing %d of %d mirrored jobs, not dropping any yet%n",
+                    missing, byId.size());
+        }
+
+        int added = 0, updated = 0;
+        for (Listing l : latest) {
+            Listing old = byId.put(l.id, l);
+            if (old == null) added++;
+            else if (!Objects.equals(old.publicationDate, l.publicationDate)) updated++;
+        }
+        int before = byId.size();
+        if (drop) byId.keySet().retainAll(seen);
+        int removed = before - byId.size();
+
+        if (added + updated + removed > 0 || !isReady()) index = Index.build(byId.values());
+        lastSyncMs = System.currentTimeMillis();
+        System.out.printf("[RemotiveCatalog] synced %d jobs (+%d ~%d -%d) in %d ms%n",
+                byId.size(), added, updated, removed, lastSyncMs - start);
+    }
+
+    private List<Listing> readCatalog(InputStream body) throws IOException {
+        List<Listing> out = new ArrayList<>();
+        try (JsonParser p = mapper.getFactory().createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return out;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken t = p.nextToken();
+                if (!"jobs".equals(field) || t != JsonToken.START_ARRAY) {
+                    p.skipChildren();
+                    continue;
+                }
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    Listing l = readListing(p);
+                    if (l != null) out.add(l);
+                }
+            }
+        }
+        return out;
+    }
+
+    private Listing readListing(JsonParser p) throws IOException {
+        Long id = null;
+        String title = null, company = null, url = null, published = null, category = null, required = null;
+        List<String> tags = new ArrayList<>();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken t = p.nextToken();
+            switch (field) {
+                case "id" -> id = t.isNumeric() ? p.getLongValue() : null;
+                case "title" -> title = JsonStreams.text(p, t);
+                case "company_name" -> company = JsonStreams.text(p, t);
+                case "url" -> url = JsonStreams.text(p, t);
+                case "publication_date" -> published = JsonStreams.text(p, t);
+                case "category" -> category = JsonStreams.text(p, t);
+                case "candidate_required_location" -> required = JsonStreams.text(p, t);
+                case "tags" -> {
+                    if (t == JsonToken.START_ARRAY) {
+                        while (p.nextToken() != JsonToken.END_ARRAY) {
+                            String tag = JsonStreams.text(p, p.currentToken());
+                            if (tag != null) tags.add(tag);
+                        }
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+                default -> p.skipChildren(); // description etc.
+            }
+        }
+        if (id == null || title == null || url == null) return null;
+        String keywords = String.join(" ", nn(category), String.join(" ", tags)).trim();
+        String text = String.join(" ", title, nn(company), keywords);
+        return new Listing(id, title.trim(), nn(company), nn(required), url, published, parseDate(published), text,
+                keywords);
+    }
+
+    // ---- matching ----
+
+    private static boolean openTo(Listing l, String loc) {
+        if (loc.isEmpty()) return true;
+        String req = l.requiredLocation.toLowerCase(Locale.ROOT);
+        return ANYWHERE.contains(req) || req.contains(loc) || req.contains("worldwide") || req.contains("anywhere");
+    }
+
+    private static int titleMatches(Listing l, List<String> tokens) {
+        Set<String> inTitle = new HashSet<>(tokens(l.title));
+        int n = 0;
+        for (String t : tokens) if (inTitle.contains(t)) n++;
+        return n;
+    }
+
+    static List<String> tokens(String s) {
+        if (s == null || s.isBlank()) return List.of();
+        List<String> out = new ArrayList<>();
+        for (String t : s.toLowerCase(Locale.ROOT).split("[^a-z0-9+#]+")) {
+            if (!t.isEmpty() && !out.contains(t)) out.add(t);
+        }
+        return out;
+    }
+
+    // publication_date usually comes without a zone ("2024-05-10T08:41:30"); treat it as UTC
+    private static String parseDate(String s) {
+        if (s == null || s.isBlank()) return null;
+        try { return String.valueOf(ZonedDateTime.parse(s).toInstant()); } catch (Exception ignored) {}
+        try { return String.valueOf(LocalDateTime.parse(s).toInstant(ZoneOffset.UTC)); } catch (Exception ignored) {}
+        return null;
+    }
+
+    private static String nn(String s) { return s == null ? "" : s.trim(); }
+
+    private record Listing(long id, String title, String company, String requiredLocation, String url,
+                           String publicationDate, String postedAt, String text,
+                           String keywords) { } // category + tags, passed on as the job description
+
+    /** Immutable snapshot: listings plus token -> positions in {@code listings}. */
+    private static final class Index {
+        static final Index EMPTY = new Index(List.of(), Map.of());
+
+        final List<Listing> listings;
+        final Map<String, List<Integer>> postings;
+
+        private Index(List<Listing> listings, Map<String, List<Integer>> postings) {
+            this.listings = listings;
+            this.postings = postings;
+        }
+
+        static Index build(Collection<Listing> all) {
+            List<Listing> listings = new ArrayList<>(all);
+            Map<String, List<Integer>> postings = new HashMap<>();
+            for (int i = 0; i < listings.size(); i++) {
+                for (String t : tokens(listings.get(i).text)) postings.computeIfAbsent(t, k -> new ArrayList<>()).add(i);
+            }
+            return new Index(List.copyOf(listings), postings);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.jobflow.sources.adapters;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "sources.remotive")
+public class RemotiveProperties {
+    private String baseUrl = "https://remotive.com/api/remote-jobs";
+    private String userAgent = "JobFlowLearning/0.1";
+
+    /** Answer queries from a locally synced copy of the catalog instead of calling per query */
+    private boolean mirror = true;
+
+    /** Time between full-catalog syncs */
+    private long syncIntervalMs = 30 * 60 * 1000L;
+
+    /** A sync that would drop more than this share of the mirror (e.g. a truncated catalog) keeps them instead */
+    private double maxDropFraction = 0.5;
+
+    public String getBaseUrl() { return baseUrl; }
+    public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+    public String getUserAgent() { return userAgent; }
+    public void setUserAgent(String userAgent) { this.userAgent = userAgent; }
+    public boolean isMirror() { return mirror; }
+    public void setMirror(boolean mirror) { this.mirror = mirror; }
+    public long getSyncIntervalMs() { return syncIntervalMs; }
+    public void setSyncIntervalMs(long syncIntervalMs) { this.syncIntervalMs = syncIntervalMs; }
+    public double getMaxDropFraction() { return maxDropFraction; }
+    public void setMaxDropFraction(double maxDropFraction) { this.maxDropFraction = maxDropFraction; }
+}
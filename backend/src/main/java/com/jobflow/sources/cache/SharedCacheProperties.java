@@ -0,0 +1,35 @@
+package com.jobflow.sources.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "sources.shared-cache")
+public class SharedCacheProperties {
+    /** Second cache tier in the database, shared by every backend node */
+    private boolean enabled = true;
+
+    /** How long a stored search is served to other nodes */
+    private int ttlMinutes = 10;
+
+    /** Entries with less life left than this count as a miss, so a node's refresh really refetches */
+    private int minRemainingSeconds = 90;
+
+    /** Tell other nodes (Postgres LISTEN/NOTIFY) to drop their in-process copy when a search is stored */
+    private boolean notify = true;
+    private String channel = "jobflow_search_cache";
+
+    /** After a database error, skip the shared tier for this long instead of waiting on it per request */
+    private long retryAfterMs = 30_000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getTtlMinutes() { return ttlMinutes; }
+    public void setTtlMinutes(int ttlMinutes) { this.ttlMinutes = ttlMinutes; }
+    public int getMinRemainingSeconds() { return minRemainingSeconds; }
+    public void setMinRemainingSeconds(int minRemainingSeconds) { this.minRemainingSeconds = minRemainingSeconds; }
+    public boolean isNotify() { return notify; }
+    public void setNotify(boolean notify) { this.notify = notify; }
+    public String getChannel() { return channel; }
+    public void setChannel(String channel) { this.channel = channel; }
+    public long getRetryAfterMs() { return retryAfterMs; }
+    public void setRetryAfterMs(long retryAfterMs) { this.retryAfterMs = retryAfterMs; }
+}
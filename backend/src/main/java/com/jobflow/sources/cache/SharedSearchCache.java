@@ -0,0 +1,226 @@
+package com.jobflow.sources.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobflow.sources.model.CachedSearch;
+import com.jobflow.sources.model.MergedJobs;
+import com.jobflow.sources.model.NormalizedJob;
+import com.jobflow.sources.repo.CachedSearchRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Database-backed second tier behind the orchestrator's in-process cache. A node that fans out
+ * stores the merged result in {@code cached_search}; any node missing the search in memory reads it
+ * from there before going upstream. After each store a {@code NOTIFY} tells the other nodes to drop
+ * their own (now older) copy, so their next read picks up the shared one.
+ *
+ * <p>Database trouble never fails a search: reads and writes that error count as a miss / are
+ * dropped, and the tier is skipped for {@code retryAfterMs} before trying again. A row that cannot
+ * be decoded is only a miss for its own key, and is deleted.
+ *
+ * <p>A row keeps the time its search was fetched, so a node copying it ages it from there.
+ */
+@Component
+public class SharedSearchCache {
+
+    private static final int MAX_KEY_LENGTH = 512;
+
+    private final SharedCacheProperties props;
+    private final CachedSearchRepository repo;
+    private final JdbcTemplate jdbc;
+    private final DataSourceProperties dataSource; // LISTEN uses its own connection, not a pooled one
+    // rows written by an older build may carry fields we no longer have
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final String nodeId = UUID.randomUUID().toString();
+    private final String channel;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    // stores are fire-and-forget so the caller does not wait on the database
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "shared-cache-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile Thread listenerThread;
+    private volatile boolean running = true;
+    private volatile long suspendedUntilMs;
+
+    public SharedSearchCache(SharedCacheProperties props, CachedSearchRepository repo,
+                             JdbcTemplate jdbc, DataSourceProperties dataSource) {
+        this.props = props;
+        this.repo = repo;
+        this.jdbc = jdbc;
+        this.dataSource = dataSource;
+        // the channel is spliced into LISTEN, which takes no bind parameters
+        this.channel = props.getChannel() != null && props.getChannel().matches("[a-z_][a-z0-9_]*")
+                ? props.getChannel() : "jobflow_search_cache";
+    }
+
+    @PostConstruct
+    void startListener() {
+        if (!props.isEnabled() || !props.isNotify()) return;
+        Thread t = new Thread(this::listen, "shared-cache-listener");
+        t.setDaemon(true);
+        t.start();
+        listenerThread = t;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        Thread t = listenerThread;
+        if (t != null) t.interrupt();
+        writer.shutdown();
+    }
+
+    /** {@code listener} gets the key of every search another node has just stored. */
+    public void onRemoteStore(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    public Optional<MergedJobs> get(String key) {
+        if (!usable(key)) return Optional.empty();
+        Optional<CachedSearch> row;
+        try {
+            Instant freshUntil = Instant.now().plusSeconds(props.getMinRemainingSeconds());
+            row = repo.findByKeyAndExpiresAtAfter(key, freshUntil);
+        } catch (Exception e) {
+            suspend("read", e);
+            return Optional.empty();
+        }
+        return row.flatMap(this::decode);
+    }
+
+    /** Stores a complete result for every node; partial ones (a source failed) stay node-local. */
+    public void put(String key, MergedJobs merged) {
+        if (!usable(key) || merged.isPartial()) return;
+        try {
+            writer.execute(() -> store(key, merged));
+        } catch (RejectedExecutionException ignored) {
+            // shutting down
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sources.shared-cache.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        if (!props.isEnabled() || System.currentTimeMillis() < suspendedUntilMs) return;
+        try {
+            int n = repo.deleteExpired(Instant.now());
+            if (n > 0) System.out.printf("[SharedCache] purged %d expired searches%n", n);
+        } catch (Exception e) {
+            suspend("purge", e);
+        }
+    }
+
+    private void store(String key, MergedJobs merged) {
+        try {
+            Instant fetchedAt = Instant.ofEpochMilli(merged.getFetchedAtMs());
+            String json = mapper.writeValueAsString(new Payload(merged.getItems(),
+                    merged.getTimedOutSources(), merged.getFailedSources(), merged.getFullFetchAtMs()));
+            repo.save(new CachedSearch(key, json, merged.size(), nodeId, fetchedAt,
+                    fetchedAt.plusSeconds(props.getTtlMinutes() * 60L)));
+            if (props.isNotify()) {
+                jdbc.query("select pg_notify(?, ?)", rs -> null, channel, nodeId + " " + key);
+            }
+        } catch (Exception e) {
+            suspend("write", e);
+        }
+    }
+
+    // storedAt is the fetch time of the search (see store)
+    private Optional<MergedJobs> decode(CachedSearch row) {
+        try {
+            Payload p = mapper.readValue(row.getPayload(), Payload.class);
+            // rows written before fullFetchAtMs existed count as due for a full refresh
+            return Optional.of(new MergedJobs(p.items(), p.timedOut(), p.failed(),
+                    p.fullFetchAtMs() == null ? 0 : p.fullFetchAtMs(), row.getStoredAt().toEpochMilli()));
+        } catch (Exception e) {
+            System.out.printf("[SharedCache] unreadable cached search %s, deleting it: %s%n", row.getKey(), e.getMessage());
+            discard(row.getKey());
+            return Optional.empty();
+        }
+    }
+
+    private void discard(String key) {
+        try {
+            repo.deleteById(key);
+        } catch (Exception e) {
+            System.out.printf("[SharedCache] could not delete %s: %s%n", key, e.getMessage());
+        }
+    }
+
+    private boolean usable(String key) {
+        return props.isEnabled() && key.length() <= MAX_KEY_LENGTH && System.currentTimeMillis() >= suspendedUntilMs;
+    }
+
+    private void suspend(String what, Exception e) {
+        suspendedUntilMs = System.currentTimeMillis() + props.getRetryAfterMs();
+        System.out.printf("[SharedCache] %s failed, skipping shared tier for %d ms: %s%n",
+                what, props.getRetryAfterMs(), e.getMessage());
+    }
+
+    // Holds one connection of its own (outside the pool, which it would otherwise pin forever) for
+    // LISTEN and polls it; reconnects with a pause after any error.
+    private void listen() {
+        while (running) {
+            try (Connection c = DriverManager.getConnection(dataSource.determineUrl(),
+                    dataSource.determineUsername(), dataSource.determinePassword())) {
+                PGConnection pg = c.unwrap(PGConnection.class);
+                try (Statement st = c.createStatement()) {
+                    st.execute("LISTEN " + channel);
+                }
+                System.out.println("[SharedCache] listening on " + channel);
+                while (running) {
+                    PGNotification[] batch = pg.getNotifications(5000);
+                    if (batch == null) continue;
+                    for (PGNotification n : batch) dispatch(n.getParameter());
+                }
+            } catch (SQLException e) {
+                if (!running) return;
+                System.out.println("[SharedCache] listener disconnected: " + e.getMessage());
+                try {
+                    Thread.sleep(props.getRetryAfterMs());
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        int sp = payload == null ? -1 : payload.indexOf(' ');
+        if (sp < 0 || payload.substring(0, sp).equals(nodeId)) return; // malformed, or our own store
+        String key = payload.substring(sp + 1);
+        for (Consumer<String> l : listeners) {
+            try {
+                l.accept(key);
+            } catch (RuntimeException e) {
+                System.out.printf("[SharedCache] listener failed for %s: %s%n", key, e.getMessage());
+            }
+        }
+    }
+
+    private record Payload(List<NormalizedJob> items, Set<String> timedOut, Set<String> failed, Long fullFetchAtMs) { }
+}
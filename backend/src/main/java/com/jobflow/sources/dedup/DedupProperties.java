@@ -0,0 +1,28 @@
+package com.jobflow.sources.dedup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "sources.dedup")
+public class DedupProperties {
+    /** Fold near-identical postings (same company and city, almost the same title) into one job */
+    private boolean enabled = true;
+
+    /** Title fingerprints (64-bit SimHash) this many bits apart or fewer count as the same posting; max 15 */
+    private int maxDistance = 3;
+
+    /** Legal-form words ignored when comparing company names ("Infosys Ltd" = "Infosys Limited") */
+    private Set<String> companySuffixes = new HashSet<>(Set.of(
+            "pvt", "private", "ltd", "limited", "inc", "llc", "llp", "plc", "corp", "corporation", "co",
+            "company", "gmbh", "the"
+    ));
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxDistance() { return maxDistance; }
+    public void setMaxDistance(int maxDistance) { this.maxDistance = maxDistance; }
+    public Set<String> getCompanySuffixes() { return companySuffixes; }
+    public void setCompanySuffixes(Set<String> companySuffixes) { this.companySuffixes = companySuffixes; }
+}
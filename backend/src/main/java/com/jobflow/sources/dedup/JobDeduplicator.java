@@ -0,0 +1,219 @@
+package com.jobflow.sources.dedup;
+
+import com.jobflow.sources.model.ApplyLink;
+import com.jobflow.sources.model.NormalizedJob;
+import com.jobflow.sources.query.QueryCanonicalizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Cross-source near-duplicate detection. The same posting shows up on several boards with its own
+ * URL and a slightly different title ("Sr. Java Dev" / "Senior Java Developer"), so exact equality
+ * misses it. Each job gets a fingerprint: its normalized company and city, plus a 64-bit SimHash
+ * of its canonical title words and their character trigrams. Two jobs are duplicates when company
+ * and city match and the SimHashes differ in at most {@code maxDistance} bits.
+ *
+ * <p>Candidates are found with LSH instead of comparing all pairs: the SimHash is cut into
+ * {@code maxDistance + 1} bands and every job is bucketed by (company, city, band, band bits).
+ * Two hashes within the distance agree on at least one whole band (pigeonhole), so they always
+ * share a bucket, while unrelated jobs rarely do; a round stays linear in the number of jobs.
+ *
+ * <p>The first job of a group is kept; the others only add their apply links to it. Only other
+ * boards' copies are folded: two postings of one source with different URLs are separate openings
+ * (a company hiring twice for the same role), so a job is never folded into a group that already
+ * holds another URL from its own source.
+ */
+@Component
+public class JobDeduplicator {
+
+    // a degenerate bucket (hundreds of identical titles) is only scanned this far
+    private static final int MAX_BUCKET_SCAN = 64;
+
+    private final DedupProperties props;
+    private final QueryCanonicalizer canonicalizer;
+
+    public JobDeduplicator(DedupProperties props, QueryCanonicalizer canonicalizer) {
+        this.props = props;
+        this.canonicalizer = canonicalizer;
+    }
+
+    /** Starts de-duplicating one fan-out. A round is not thread-safe. */
+    public Round newRound() {
+        return new Round();
+    }
+
+    public final class Round {
+        private final int distance = Math.max(0, Math.min(15, props.getMaxDistance()));
+        private final int bands = distance + 1;
+        private final Set<NormalizedJob> exact = new HashSet<>();
+        private final List<NormalizedJob> kept = new ArrayList<>();
+        private final List<Long> hashes = new ArrayList<>();
+        private final Map<Integer, List<ApplyLink>> extraLinks = new HashMap<>();
+        private final Map<BucketKey, List<Integer>> buckets = new HashMap<>();
+        private int folded;
+
+        private Round() { }
+
+        /**
+         * Adds a job to the round.
+         *
+         * @return true if it is new; false if it is an exact or near duplicate of a job already kept
+         */
+        public boolean offer(NormalizedJob job) {
+            if (!exact.add(job)) return false;
+            if (!props.isEnabled()) return keep(job, 0, null);
+
+            String company = companyKey(job.getCompany());
+            if (company.isEmpty()) return keep(job, 0, null); // nothing reliable to group on
+            String city = cityKey(job.getLocation());
+            long hash = simHash(canonicalizer.titleWords(job.getTitle()));
+
+            BucketKey[] keys = new BucketKey[bands];
+            for (int b = 0; b < bands; b++) {
+                keys[b] = new BucketKey(company, city, b, band(hash, b));
+                List<Integer> members = buckets.get(keys[b]);
+                if (members == null) continue;
+                for (int i = 0, n = Math.min(members.size(), MAX_BUCKET_SCAN); i < n; i++) {
+                    int idx = members.get(i);
+                    if (Long.bitCount(hashes.get(idx) ^ hash) <= distance && foldable(idx, job)) {
+                        link(idx, job);
+                        return false;
+                    }
+                }
+            }
+            return keep(job, hash, keys);
+        }
+
+        /** Offers every job, e.g. the previous result of an incremental refresh. */
+        public void offerAll(List<NormalizedJob> jobs) {
+            for (NormalizedJob j : jobs) offer(j);
+        }
+
+        /** Kept jobs in arrival order; those that absorbed duplicates are copies carrying their links. */
+        public List<NormalizedJob> jobs() {
+            if (extraLinks.isEmpty()) return new ArrayList<>(kept);
+            List<NormalizedJob> out = new ArrayList<>(kept.size());
+            for (int i = 0; i < kept.size(); i++) {
+                List<ApplyLink> extra = extraLinks.get(i);
+                out.add(extra == null ? kept.get(i) : withLinks(kept.get(i), extra));
+            }
+            return out;
+        }
+
+        /** How many jobs were folded into another one as near duplicates. */
+        public int folded() { return folded; }
+
+        private boolean keep(NormalizedJob job, long hash, BucketKey[] keys) {
+            int idx = kept.size();
+            kept.add(job);
+            hashes.add(hash);
+            if (keys != null) {
+                for (BucketKey k : keys) buckets.computeIfAbsent(k, x -> new ArrayList<>(2)).add(idx);
+            }
+            return true;
+        }
+
+        // dup's source may only be in the group with the very same URL (a re-post of the same listing)
+        private boolean foldable(int idx, NormalizedJob dup) {
+            NormalizedJob rep = kept.get(idx);
+            if (sameSourceOtherUrl(rep.getSource(), rep.getApplyUrl(), dup)) return false;
+            for (ApplyLink l : rep.getAlternates()) if (sameSourceOtherUrl(l.source(), l.applyUrl(), dup)) return false;
+            for (ApplyLink l : extraLinks.getOrDefault(idx, List.of())) {
+                if (sameSourceOtherUrl(l.source(), l.applyUrl(), dup)) return false;
+            }
+            return true;
+        }
+
+        private void link(int idx, NormalizedJob dup) {
+            folded++;
+            NormalizedJob rep = kept.get(idx);
+            List<ApplyLink> extra = extraLinks.computeIfAbsent(idx, x -> new ArrayList<>());
+            addLink(extra, rep, new ApplyLink(dup.getSource(), dup.getApplyUrl()));
+            for (ApplyLink l : dup.getAlternates()) addLink(extra, rep, l);
+        }
+
+        private long band(long hash, int b) {
+            int from = b * 64 / bands, to = (b + 1) * 64 / bands;
+            return to - from == 64 ? hash : (hash >>> from) & ((1L << (to - from)) - 1);
+        }
+    }
+
+    private static boolean sameSourceOtherUrl(String source, String applyUrl, NormalizedJob job) {
+        return Objects.equals(source, job.getSource()) && !Objects.equals(applyUrl, job.getApplyUrl());
+    }
+
+    private record BucketKey(String company, String city, int band, long bits) { }
+
+    private static void addLink(List<ApplyLink> extra, NormalizedJob rep, ApplyLink link) {
+        if (link.applyUrl() == null || Objects.equals(link.applyUrl(), rep.getApplyUrl())) return;
+        if (rep.getAlternates().contains(link) || extra.contains(link)) return;
+        extra.add(link);
+    }
+
+    // Kept jobs may be shared with a cached result, so links go on a copy.
+    private static NormalizedJob withLinks(NormalizedJob rep, List<ApplyLink> extra) {
+        NormalizedJob copy = new NormalizedJob(rep.getId(), rep.getTitle(), rep.getCompany(), rep.getLocation(),
+                rep.getSource(), rep.getApplyUrl(), rep.getPostedAtMs());
+        List<ApplyLink> links = new ArrayList<>(rep.getAlternates());
+        links.addAll(extra);
+        copy.setAlternates(List.copyOf(links));
+        return copy;
+    }
+
+    // lowercase words without legal-form suffixes: "Infosys Pvt. Ltd." -> "infosys"
+    private String companyKey(String company) {
+        if (company == null) return "";
+        List<String> words = new ArrayList<>();
+        for (String w : company.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!w.isEmpty() && !props.getCompanySuffixes().contains(w)) words.add(w);
+        }
+        return String.join(" ", words);
+    }
+
+    // first place named, canonicalised: "Bengaluru, Karnataka" and "Bangalore/Bengaluru" -> "bangalore"
+    private String cityKey(String location) {
+        if (location == null) return "";
+        String first = location.split("[,/(|;]", 2)[0];
+        return String.join(" ", canonicalizer.locationWords(first));
+    }
+
+    // SimHash over the title words and the character trigrams of the sorted words, so word order
+    // does not matter and a one-letter difference only moves a few features.
+    static long simHash(List<String> titleWords) {
+        int[] votes = new int[64];
+        List<String> sorted = new ArrayList<>(titleWords);
+        sorted.sort(null);
+        for (String w : sorted) vote(votes, hash64("w:" + w), 2);
+        String joined = " " + String.join(" ", sorted) + " ";
+        for (int i = 0; i + 3 <= joined.length(); i++) vote(votes, hash64(joined.substring(i, i + 3)), 1);
+        long h = 0;
+        for (int bit = 0; bit < 64; bit++) if (votes[bit] > 0) h |= 1L << bit;
+        return h;
+    }
+
+    private static void vote(int[] votes, long featureHash, int weight) {
+        for (int bit = 0; bit < 64; bit++) votes[bit] += ((featureHash >>> bit) & 1) != 0 ? weight : -weight;
+    }
+
+    // FNV-1a followed by a splitmix64 finalizer, so every output bit depends on every char
+    private static long hash64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,13 @@
+package com.jobflow.sources.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Consumes a response body as it arrives. {@code body} is already decompressed; returning before
+ * the end closes the stream and abandons the rest of the download.
+ */
+@FunctionalInterface
+public interface BodyReader<T> {
+    T read(int statusCode, InputStream body) throws IOException;
+}
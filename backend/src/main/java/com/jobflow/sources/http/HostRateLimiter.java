@@ -0,0 +1,52 @@
+package com.jobflow.sources.http;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-host token bucket in its "virtual scheduling" form: each host keeps the theoretical arrival
+ * time (TAT) of the next free token. A caller is given the earliest slot the bucket allows and the
+ * returned future completes at that time, so nobody sleeps on a thread. Callers are refused straight
+ * away when their slot lies beyond {@code maxWaitMs} or too many are already waiting.
+ */
+class HostRateLimiter {
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    CompletableFuture<Void> acquire(String host, RateLimit limit, long maxWaitMs) {
+        if (limit == null || !limit.isLimited()) return CompletableFuture.completedFuture(null);
+        Bucket b = buckets.computeIfAbsent(host, h -> new Bucket());
+
+        long waitNanos;
+        synchronized (b) {
+            long now = System.nanoTime();
+            long interval = TimeUnit.MILLISECONDS.toNanos(limit.intervalMs());
+            long tolerance = (Math.max(1, limit.burst()) - 1) * interval; // how far ahead the burst may run
+            long tat = b.tat == Long.MIN_VALUE ? now : Math.max(b.tat, now);
+            long slot = Math.max(now, tat - tolerance);
+            waitNanos = slot - now;
+
+            if (waitNanos > TimeUnit.MILLISECONDS.toNanos(maxWaitMs)) {
+                return CompletableFuture.failedFuture(new RateLimitedException(String.format(
+                        "%s: next slot in %d ms exceeds the %d ms deadline", host, TimeUnit.NANOSECONDS.toMillis(waitNanos), maxWaitMs)));
+            }
+            if (waitNanos > 0 && b.queued >= limit.maxQueued()) {
+                return CompletableFuture.failedFuture(new RateLimitedException(host + ": " + b.queued + " requests already queued"));
+            }
+            b.tat = tat + interval;
+            if (waitNanos > 0) b.queued++;
+        }
+        if (waitNanos <= 0) return CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.runAsync(() -> {
+            synchronized (b) { b.queued--; }
+        }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+    }
+
+    private static final class Bucket {
+        long tat = Long.MIN_VALUE; // nanoTime of the next token; MIN_VALUE = never used
+        int queued;
+    }
+}
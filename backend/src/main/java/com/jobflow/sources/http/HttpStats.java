@@ -0,0 +1,20 @@
+package com.jobflow.sources.http;
+
+/**
+ * Per-source HTTP counters. {@code http2} vs {@code http11} shows how many responses came over a
+ * multiplexed connection; {@code clients} is how many distinct HttpClient instances (connection pools)
+ * this source's requests went over.
+ */
+public record HttpStats(
+        String source,
+        long requests,
+        long failures,
+        long http2,
+        long http11,
+        long bytesOnWire,
+        long bytesDecoded,
+        long compressed,
+        long rateLimited,
+        long notModified,
+        int clients
+) { }
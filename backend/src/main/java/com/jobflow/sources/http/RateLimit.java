@@ -0,0 +1,12 @@
+package com.jobflow.sources.http;
+
+/**
+ * Token bucket settings for one upstream host: a token every {@code intervalMs}, at most
+ * {@code burst} saved up, and at most {@code maxQueued} callers waiting for a slot.
+ */
+public record RateLimit(long intervalMs, int burst, int maxQueued) {
+
+    public static final RateLimit NONE = new RateLimit(0, 1, 0);
+
+    public boolean isLimited() { return intervalMs > 0; }
+}
@@ -0,0 +1,8 @@
+package com.jobflow.sources.http;
+
+import java.io.IOException;
+
+/** Thrown (as a failed future) when a request would wait too long for a slot or the queue is full. */
+public class RateLimitedException extends IOException {
+    public RateLimitedException(String message) { super(message); }
+}
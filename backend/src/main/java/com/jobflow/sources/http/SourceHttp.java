@@ -0,0 +1,387 @@
+package com.jobflow.sources.http;
+
+import com.jobflow.sources.model.Deadline;
+import jakarta.annotation.PreDestroy;
+import org.brotli.dec.BrotliInputStream;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Shared HTTP plumbing for the source adapters: one HTTP/2-preferring client (one connection pool,
+ * so TLS sessions are reused across adapters), one callback executor, connect and per-source
+ * request timeouts, gzip/deflate/brotli decoding, conditional revalidation, per-host rate limiting
+ * and per-source counters.
+ * <p>
+ * Adapters that need their own cookie jar get a client from {@link #clientBuilder()}, which shares
+ * the executor and timeouts.
+ */
+@Component
+public class SourceHttp {
+
+    private final SourceHttpProperties props;
+    private final ExecutorService executor;
+    private final ThreadPoolExecutor readers; // blocking body reads stay off the client's callback threads
+    private final HttpClient client;
+    private final HostRateLimiter limiter = new HostRateLimiter();
+    private final Validators validators;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public SourceHttp(SourceHttpProperties props) {
+        this.props = props;
+        this.validators = new Validators(props.getConditionalMaxEntries());
+        AtomicInteger n = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, props.getThreads()), r -> {
+            Thread t = new Thread(r, "source-http-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger m = new AtomicInteger();
+        int readerThreads = Math.max(1, props.getReaderThreads());
+        this.readers = new ThreadPoolExecutor(readerThreads, readerThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "source-read-" + m.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.readers.allowCoreThreadTimeOut(true);
+        this.client = clientBuilder().build();
+    }
+
+    /** Pre-configured builder (version, executor, connect timeout, redirects). */
+    public HttpClient.Builder clientBuilder() {
+        return HttpClient.newBuilder()
+                .version(props.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(Duration.ofMillis(props.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+    }
+
+    /** GET request carrying the source's timeout and, if enabled, Accept-Encoding. */
+    public HttpRequest.Builder request(String source, String url) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(props.requestTimeoutFor(source)))
+                .GET();
+        if (props.isCompression()) b.header("Accept-Encoding", "gzip, deflate, br");
+        return b;
+    }
+
+    public CompletableFuture<Void> throttle(String source, String url, RateLimit limit) {
+        return throttle(source, url, limit, Deadline.NONE);
+    }
+
+    /**
+     * Completes when {@code url}'s host has a free slot under {@code limit}. Fails fast with
+     * {@link RateLimitedException} if that slot is later than the source's request timeout or the
+     * caller's {@code deadline}, whichever comes first, or the host's wait queue is full.
+     */
+    public CompletableFuture<Void> throttle(String source, String url, RateLimit limit, Deadline deadline) {
+        String host = Objects.toString(URI.create(url).getHost(), url);
+        Counters c = counters(source);
+        return limiter.acquire(host, limit, deadline.remainingMs(props.requestTimeoutFor(source)))
+                .whenComplete((v, err) -> {
+                    if (err != null) c.rateLimited.increment();
+                });
+    }
+
+    public CompletableFuture<SourceResponse> send(String source, HttpRequest req) {
+        return send(client, source, req);
+    }
+
+    /** Sends on {@code via}, decoding the body according to Content-Encoding and the charset. */
+    public CompletableFuture<SourceResponse> send(HttpClient via, String source, HttpRequest req) {
+        Counters c = counters(source, via);
+        c.requests.increment();
+        return via.sendAsync(req, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((resp, err) -> {
+                    if (err != null) {
+                        c.failures.increment();
+                        throw err instanceof RuntimeException re ? re : new CompletionException(err);
+                    }
+                    record(c, resp.version());
+                    byte[] raw = resp.body() == null ? new byte[0] : resp.body();
+                    String encoding = resp.headers().firstValue("Content-Encoding").orElse("").trim().toLowerCase(Locale.ROOT);
+                    byte[] decoded = decode(raw, encoding);
+                    c.bytesOnWire.add(raw.length);
+                    c.bytesDecoded.add(decoded.length);
+                    if (decoded != raw) c.compressed.increment();
+                    return new SourceResponse(resp.statusCode(), new String(decoded, charset(resp)), resp.headers(), resp.version());
+                });
+    }
+
+    /**
+     * {@link #throttle} then stream; cancelling the result cancels whichever step is running.
+     * With a {@code conditionalKey} the request is revalidated against the last response stored
+     * under that key, and a 304 yields the value {@code reader} produced back then.
+     */
+    public <T> CompletableFuture<T> stream(String source, HttpRequest req, RateLimit limit, String conditionalKey,
+                                           BodyReader<T> reader) {
+        return stream(source, req, limit, conditionalKey, Deadline.NONE, reader);
+    }
+
+    /** {@link #stream(String, HttpRequest, RateLimit, String, BodyReader)} waiting for a slot until {@code deadline} at most. */
+    public <T> CompletableFuture<T> stream(String source, HttpRequest req, RateLimit limit, String conditionalKey,
+                                           Deadline deadline, BodyReader<T> reader) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> call = new AtomicReference<>();
+        throttle(source, req.uri().toString(), limit, deadline).whenComplete((v, err) -> {
+            if (err != null) {
+                result.completeExceptionally(err);
+                return;
+            }
+            if (result.isDone()) return; // cancelled while waiting for the slot
+            CompletableFuture<T> f = exchange(client, source, req, conditionalKey, reader);
+            call.set(f);
+            f.whenComplete((r, e) -> {
+                if (e != null) result.completeExceptionally(e);
+                else result.complete(r);
+            });
+            if (result.isCancelled()) f.cancel(true);
+        });
+        result.whenComplete((r, e) -> {
+            CompletableFuture<T> f = call.get();
+            if (result.isCancelled() && f != null) f.cancel(true);
+        });
+        return result;
+    }
+
+    /**
+     * Sends on {@code via} and hands the decompressed body stream to {@code reader} as bytes arrive,
+     * so callers can parse incrementally and stop early. Cancelling the result closes the stream.
+     */
+    public <T> CompletableFuture<T> stream(HttpClient via, String source, HttpRequest req, BodyReader<T> reader) {
+        return exchange(via, source, req, null, reader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> exchange(HttpClient via, String source, HttpRequest request, String conditionalKey,
+                                              BodyReader<T> reader) {
+        Counters c = counters(source, via);
+        c.requests.increment();
+        Validators.Entry known = conditionalKey != null && props.isConditional() ? validators.get(conditionalKey) : null;
+        HttpRequest req = request;
+        if (known != null) {
+            HttpRequest.Builder b = HttpRequest.newBuilder(request, (name, value) -> true);
+            if (known.etag() != null) b.header("If-None-Match", known.etag());
+            if (known.lastModified() != null) b.header("If-Modified-Since", known.lastModified());
+            req = b.build();
+        }
+        AtomicReference<InputStream> body = new AtomicReference<>();
+        CompletableFuture<HttpResponse<InputStream>> call = via.sendAsync(req, HttpResponse.BodyHandlers.ofInputStream());
+        CompletableFuture<T> result = call.handleAsync((resp, err) -> {
+            if (err != null) {
+                c.failures.increment();
+                throw err instanceof RuntimeException re ? re : new CompletionException(err);
+            }
+            record(c, resp.version());
+            body.set(resp.body());
+            if (resp.statusCode() == 304 && known != null) {
+                c.notModified.increment();
+                try { resp.body().close(); } catch (IOException ignored) { }
+                return (T) known.parsed();
+            }
+            String encoding = resp.headers().firstValue("Content-Encoding").orElse("").trim().toLowerCase(Locale.ROOT);
+            CountingInputStream wire = new CountingInputStream(resp.body());
+            CountingInputStream decoded = null;
+            try {
+                decoded = new CountingInputStream(decodeStream(wire, encoding));
+                if (!encoding.isEmpty() && !"identity".equals(encoding)) c.compressed.increment();
+                T out = reader.read(resp.statusCode(), decoded);
+                if (conditionalKey != null && props.isConditional() && resp.statusCode() >= 200 && resp.statusCode() < 300) {
+                    String etag = resp.headers().firstValue("ETag").orElse(null);
+                    String lastModified = resp.headers().firstValue("Last-Modified").orElse(null);
+                    if (etag != null || lastModified != null) validators.put(conditionalKey, new Validators.Entry(etag, lastModified, out));
+                    else validators.remove(conditionalKey);
+                }
+                return out;
+            } catch (IOException e) {
+                c.failures.increment();
+                throw new CompletionException(e);
+            } finally {
+                c.bytesOnWire.add(wire.count);
+                if (decoded != null) c.bytesDecoded.add(decoded.count);
+                try { (decoded != null ? decoded : wire).close(); } catch (IOException ignored) { }
+            }
+        }, readers);
+        result.whenComplete((r, e) -> {
+            if (!result.isCancelled()) return;
+            call.cancel(true);
+            InputStream in = body.get();
+            if (in != null) try { in.close(); } catch (IOException ignored) { } // unblocks the reader
+        });
+        return result;
+    }
+
+    /** Sends and throws the body away (e.g. cookie bootstrap); returns the status code. */
+    public CompletableFuture<Integer> sendDiscarding(HttpClient via, String source, HttpRequest req) {
+        Counters c = counters(source, via);
+        c.requests.increment();
+        return via.sendAsync(req, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((resp, err) -> {
+                    if (err != null) c.failures.increment();
+                    else record(c, resp.version());
+                })
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    public List<HttpStats> stats() {
+        return counters.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        readers.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    // ---- helpers ----
+
+    private Counters counters(String source) {
+        return counters.computeIfAbsent(source, k -> new Counters());
+    }
+
+    private Counters counters(String source, HttpClient via) {
+        Counters c = counters(source);
+        c.clients.add(via);
+        return c;
+    }
+
+    private static void record(Counters c, HttpClient.Version v) {
+        if (v == HttpClient.Version.HTTP_2) c.http2.increment();
+        else c.http11.increment();
+    }
+
+    private static byte[] decode(byte[] raw, String encoding) {
+        if (raw.length == 0) return raw;
+        try {
+            switch (encoding) {
+                case "gzip", "x-gzip":
+                    return readAll(new GZIPInputStream(new ByteArrayInputStream(raw)));
+                case "br":
+                    return readAll(new BrotliInputStream(new ByteArrayInputStream(raw)));
+                case "deflate":
+                    // "deflate" should be zlib-wrapped, but some servers send raw deflate
+                    try {
+                        return readAll(new InflaterInputStream(new ByteArrayInputStream(raw)));
+                    } catch (ZipException e) {
+                        return readAll(new InflaterInputStream(new ByteArrayInputStream(raw), new Inflater(true)));
+                    }
+                default:
+                    return raw; // identity, or an encoding we never asked for
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not decode " + encoding + " body", e);
+        }
+    }
+
+    private static InputStream decodeStream(InputStream in, String encoding) throws IOException {
+        switch (encoding) {
+            case "gzip", "x-gzip":
+                return new GZIPInputStream(in, 8192);
+            case "br":
+                return new BrotliInputStream(in);
+            case "deflate":
+                // peek at the header: zlib-wrapped (per spec) or raw deflate
+                BufferedInputStream b = new BufferedInputStream(in);
+                b.mark(2);
+                int b0 = b.read(), b1 = b.read();
+                b.reset();
+                boolean zlib = b0 >= 0 && b1 >= 0 && (b0 & 0x0F) == 8 && ((b0 << 8) | b1) % 31 == 0;
+                return zlib ? new InflaterInputStream(b) : new InflaterInputStream(b, new Inflater(true));
+            default:
+                return in;
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Charset charset(HttpResponse<?> resp) {
+        String ct = resp.headers().firstValue("Content-Type").orElse("");
+        int i = ct.toLowerCase(Locale.ROOT).indexOf("charset=");
+        if (i < 0) return StandardCharsets.UTF_8;
+        String name = ct.substring(i + 8).split(";")[0].replace("\"", "").trim();
+        try {
+            return Charset.forName(name);
+        } catch (Exception e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) { super(in); }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder requests = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder http2 = new LongAdder();
+        final LongAdder http11 = new LongAdder();
+        final LongAdder bytesOnWire = new LongAdder();
+        final LongAdder bytesDecoded = new LongAdder();
+        final LongAdder compressed = new LongAdder();
+        final LongAdder rateLimited = new LongAdder();
+        final LongAdder notModified = new LongAdder();
+        final Set<HttpClient> clients = ConcurrentHashMap.newKeySet(); // identity: HttpClient keeps Object.equals
+
+        HttpStats snapshot(String source) {
+            return new HttpStats(source, requests.sum(), failures.sum(), http2.sum(), http11.sum(),
+                    bytesOnWire.sum(), bytesDecoded.sum(), compressed.sum(), rateLimited.sum(), notModified.sum(),
+                    clients.size());
+        }
+    }
+}
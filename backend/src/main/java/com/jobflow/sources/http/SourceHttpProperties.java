@@ -0,0 +1,55 @@
+package com.jobflow.sources.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "sources.http")
+public class SourceHttpProperties {
+    /** Ask for HTTP/2 (falls back to 1.1 when the server doesn't offer it) */
+    private boolean http2 = true;
+
+    /** Threads shared by every source client for async callbacks */
+    private int threads = 4;
+
+    /** Threads that read and parse streamed bodies (blocking reads) */
+    private int readerThreads = 4;
+
+    /** TCP + TLS connect timeout */
+    private int connectTimeoutMs = 5000;
+
+    /** Default per-request timeout; overridable per source key */
+    private int requestTimeoutMs = 10000;
+    private Map<String, Integer> requestTimeoutsMs = new HashMap<>();
+
+    /** Send Accept-Encoding: gzip, deflate, br and decode the body ourselves */
+    private boolean compression = true;
+
+    /** Remember ETag / Last-Modified per URL and revalidate with If-None-Match / If-Modified-Since */
+    private boolean conditional = true;
+    private int conditionalMaxEntries = 2000;
+
+    public int requestTimeoutFor(String source) {
+        return requestTimeoutsMs.getOrDefault(source, requestTimeoutMs);
+    }
+
+    public boolean isHttp2() { return http2; }
+    public void setHttp2(boolean http2) { this.http2 = http2; }
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+    public int getReaderThreads() { return readerThreads; }
+    public void setReaderThreads(int readerThreads) { this.readerThreads = readerThreads; }
+    public int getConnectTimeoutMs() { return connectTimeoutMs; }
+    public void setConnectTimeoutMs(int connectTimeoutMs) { this.connectTimeoutMs = connectTimeoutMs; }
+    public int getRequestTimeoutMs() { return requestTimeoutMs; }
+    public void setRequestTimeoutMs(int requestTimeoutMs) { this.requestTimeoutMs = requestTimeoutMs; }
+    public Map<String, Integer> getRequestTimeoutsMs() { return requestTimeoutsMs; }
+    public void setRequestTimeoutsMs(Map<String, Integer> requestTimeoutsMs) { this.requestTimeoutsMs = requestTimeoutsMs; }
+    public boolean isCompression() { return compression; }
+    public void setCompression(boolean compression) { this.compression = compression; }
+    public boolean isConditional() { return conditional; }
+    public void setConditional(boolean conditional) { this.conditional = conditional; }
+    public int getConditionalMaxEntries() { return conditionalMaxEntries; }
+    public void setConditionalMaxEntries(int conditionalMaxEntries) { this.conditionalMaxEntries = conditionalMaxEntries; }
+}
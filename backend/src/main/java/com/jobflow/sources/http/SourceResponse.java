@@ -0,0 +1,10 @@
+package com.jobflow.sources.http;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+
+/** A source response with the body already decompressed and decoded. */
+public record SourceResponse(int statusCode, String body, HttpHeaders headers, HttpClient.Version version) {
+
+    public boolean isSuccess() { return statusCode >= 200 && statusCode < 300; }
+}
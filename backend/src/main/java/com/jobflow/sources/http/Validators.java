@@ -0,0 +1,36 @@
+package com.jobflow.sources.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ETag / Last-Modified per request key, together with what we parsed from that response, so a
+ * 304 can hand back the earlier result without downloading or parsing anything. LRU-bounded.
+ */
+class Validators {
+
+    record Entry(String etag, String lastModified, Object parsed) { }
+
+    private final Map<String, Entry> entries;
+
+    Validators(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > Math.max(1, maxEntries);
+            }
+        };
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, Entry e) {
+        entries.put(key, e);
+    }
+
+    synchronized void remove(String key) {
+        entries.remove(key);
+    }
+}
@@ -0,0 +1,4 @@
+package com.jobflow.sources.model;
+
+/** Where else a de-duplicated posting can be applied to. */
+public record ApplyLink(String source, String applyUrl) { }
@@ -0,0 +1,54 @@
+package com.jobflow.sources.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/** One orchestrator result in the shared (database) cache tier, keyed by canonical query. */
+@Entity
+@Table(name = "cached_search", indexes = @Index(name = "idx_cached_search_expires", columnList = "expiresAt"))
+public class CachedSearch {
+
+    @Id
+    @Column(name = "query_key", length = 512)
+    private String key;
+
+    // MergedJobs as JSON
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    private int items;
+
+    // node that fetched it
+    private String node;
+
+    @Column(nullable = false)
+    private Instant storedAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    public CachedSearch() { }
+
+    public CachedSearch(String key, String payload, int items, String node, Instant storedAt, Instant expiresAt) {
+        this.key = key;
+        this.payload = payload;
+        this.items = items;
+        this.node = node;
+        this.storedAt = storedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public int getItems() { return items; }
+    public void setItems(int items) { this.items = items; }
+    public String getNode() { return node; }
+    public void setNode(String node) { this.node = node; }
+    public Instant getStoredAt() { return storedAt; }
+    public void setStoredAt(Instant storedAt) { this.storedAt = storedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
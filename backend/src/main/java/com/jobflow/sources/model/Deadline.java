@@ -0,0 +1,36 @@
+package com.jobflow.sources.model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point (on {@link System#nanoTime()}) after which the caller of a fetch stops waiting for it.
+ * Passed down to where a fetch would queue, e.g. for a rate-limit slot, so nothing is queued for a
+ * time the caller will not see.
+ */
+public final class Deadline {
+
+    /** No deadline of its own: only the source's timeouts apply. */
+    public static final Deadline NONE = new Deadline(0);
+
+    private final long atNanos;
+
+    private Deadline(long atNanos) {
+        this.atNanos = atNanos;
+    }
+
+    /** A deadline at {@code nanoTime}, a value of {@link System#nanoTime()}. */
+    public static Deadline at(long nanoTime) {
+        return new Deadline(nanoTime);
+    }
+
+    public static Deadline in(long ms) {
+        return at(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+
+    /** Milliseconds left (never negative), at most {@code cap}; {@code cap} itself for {@link #NONE}. */
+    public long remainingMs(long cap) {
+        if (this == NONE) return cap;
+        long left = TimeUnit.NANOSECONDS.toMillis(atNanos - System.nanoTime());
+        return Math.min(cap, Math.max(0, left));
+    }
+}
@@ -0,0 +1,191 @@
+package com.jobflow.sources.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Columnar, read-only view of one cached result, built once per result so that filtering a page
+ * out of it is a loop over primitive arrays: source as a byte ordinal, posting time as epoch
+ * millis, company and location as ids into per-snapshot dictionaries whose lowercase forms are
+ * folded up front. The jobs themselves are only looked up for the rows of the page returned.
+ *
+ * <p>Building the snapshot also makes equal company / location / source strings share one
+ * instance, so a cached result holds each distinct value once.
+ */
+public final class JobSnapshot {
+
+    private static final long DAY_MS = 24L * 60L * 60L * 1000L;
+
+    private final NormalizedJob[] jobs;
+    private final byte[] source;
+    private final long[] postedAtMs;
+    private final int[] companyId;
+    private final int[] locationId;
+
+    private final String[] sources;        // ordinal -> lowercase source key ("unknown" if missing)
+    private final String[] companyFolded;  // company id -> lowercase company, null if missing
+    private final String[] locationFolded; // location id -> lowercase location, null if missing
+
+    private final int[] byRecency; // row order, newest first, undated last (stable)
+
+    private JobSnapshot(List<NormalizedJob> items) {
+        int n = items.size();
+        jobs = new NormalizedJob[n];
+        source = new byte[n];
+        postedAtMs = new long[n];
+        companyId = new int[n];
+        locationId = new int[n];
+
+        Dictionary sourceDict = new Dictionary();
+        Dictionary companyDict = new Dictionary();
+        Dictionary locationDict = new Dictionary();
+        for (int i = 0; i < n; i++) {
+            NormalizedJob j = items.get(i);
+            String src = j.getSource() == null ? "unknown" : j.getSource().toLowerCase(Locale.ROOT);
+            source[i] = (byte) sourceDict.id(src, src); // a handful of sources, far below 127
+            postedAtMs[i] = j.getPostedAtMs();
+            companyId[i] = companyDict.id(j.getCompany(), fold(j.getCompany()));
+            locationId[i] = locationDict.id(j.getLocation(), fold(j.getLocation()));
+            jobs[i] = shared(j, sourceDict, companyDict, locationDict);
+        }
+        sources = sourceDict.folded();
+        companyFolded = companyDict.folded();
+        locationFolded = locationDict.folded();
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(postedAtMs[b], postedAtMs[a]));
+        byRecency = new int[n];
+        for (int i = 0; i < n; i++) byRecency[i] = order[i];
+    }
+
+    public static JobSnapshot of(List<NormalizedJob> items) {
+        return new JobSnapshot(items);
+    }
+
+    public int size() { return jobs.length; }
+
+    /** The job at {@code row}, in the order of the list the snapshot was built from. */
+    public NormalizedJob job(int row) { return jobs[row]; }
+
+    /** The jobs with shared string instances, in original order. */
+    public List<NormalizedJob> jobs() { return List.of(jobs); }
+
+    public long postedAtMs(int row) { return postedAtMs[row]; }
+    public int sourceOrdinal(int row) { return source[row]; }
+    public int companyId(int row) { return companyId[row]; }
+    public int locationId(int row) { return locationId[row]; }
+
+    public int sourceCount() { return sources.length; }
+    public String sourceName(int ordinal) { return sources[ordinal]; }
+    public String locationKey(int id) { return locationFolded[id]; }
+
+    /** Resolves request filters against this snapshot's dictionaries; null / blank / "all" mean no filter. */
+    public Filter filter(String source, Integer postedWithinDays, String companyContains) {
+        int ordinal = -1;
+        if (source != null && !source.isBlank() && !"all".equalsIgnoreCase(source)) {
+            ordinal = Arrays.asList(sources).indexOf(source.toLowerCase(Locale.ROOT));
+            if (ordinal < 0) ordinal = Filter.NONE;
+        }
+        long since = postedWithinDays != null && postedWithinDays > 0
+                ? System.currentTimeMillis() - postedWithinDays * DAY_MS
+                : NormalizedJob.NO_DATE;
+        boolean[] companies = null;
+        if (companyContains != null && !companyContains.isBlank()) {
+            // decided once per distinct company rather than once per row
+            String q = companyContains.toLowerCase(Locale.ROOT);
+            companies = new boolean[companyFolded.length];
+            for (int c = 0; c < companyFolded.length; c++) {
+                companies[c] = companyFolded[c] != null && companyFolded[c].contains(q);
+            }
+        }
+        return new Filter(ordinal, since, postedWithinDays != null && postedWithinDays > 0, companies);
+    }
+
+    /** Rows passing {@code f}, newest first or in original order. */
+    public int[] select(Filter f, boolean byRecency) {
+        int[] out = new int[jobs.length];
+        int n = 0;
+        for (int k = 0; k < jobs.length; k++) {
+            int row = byRecency ? this.byRecency[k] : k;
+            if (f.test(this, row)) out[n++] = row;
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /** Request filters resolved to ordinals / ids, see {@link #filter}. */
+    public static final class Filter {
+        static final int NONE = -2; // source not in this snapshot: nothing matches
+
+        private final int source;        // -1 = any
+        private final long postedSince;
+        private final boolean dated;     // undated jobs are dropped when the date filter is on
+        private final boolean[] company; // per company id, null = any
+
+        private Filter(int source, long postedSince, boolean dated, boolean[] company) {
+            this.source = source;
+            this.postedSince = postedSince;
+            this.dated = dated;
+            this.company = company;
+        }
+
+        public boolean test(JobSnapshot s, int row) {
+            if (source != -1 && s.source[row] != source) return false;
+            if (dated && s.postedAtMs[row] < postedSince) return false; // NO_DATE is below any cutoff
+            return company == null || company[s.companyId[row]];
+        }
+    }
+
+    private static String fold(String s) {
+        return s == null ? null : s.toLowerCase(Locale.ROOT);
+    }
+
+    // A copy pointing at the dictionary instances, unless the job already does.
+    private static NormalizedJob shared(NormalizedJob j, Dictionary sources, Dictionary companies, Dictionary locations) {
+        String src = sources.canonical(j.getSource());
+        String company = companies.canonical(j.getCompany());
+        String location = locations.canonical(j.getLocation());
+        if (src == j.getSource() && company == j.getCompany() && location == j.getLocation()) return j;
+        NormalizedJob copy = new NormalizedJob(j.getId(), j.getTitle(), company, location, src,
+                j.getApplyUrl(), j.getPostedAtMs());
+        copy.setAlternates(j.getAlternates());
+        return copy;
+    }
+
+    /** Value -> id, keeping the first instance of each value and its folded form. */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final Map<String, String> instances = new HashMap<>();
+        private final List<String> folded = new ArrayList<>();
+        private int nullId = -1;
+
+        int id(String value, String foldedValue) {
+            if (value == null) {
+                if (nullId < 0) {
+                    nullId = folded.size();
+                    folded.add(null);
+                }
+                return nullId;
+            }
+            Integer id = ids.get(value);
+            if (id != null) return id;
+            id = folded.size();
+            ids.put(value, id);
+            instances.put(value, value);
+            folded.add(foldedValue);
+            return id;
+        }
+
+        String canonical(String value) {
+            return value == null ? null : instances.getOrDefault(value, value);
+        }
+
+        String[] folded() {
+            return folded.toArray(new String[0]);
+        }
+    }
+}
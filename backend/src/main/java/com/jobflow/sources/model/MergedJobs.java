@@ -0,0 +1,61 @@
+package com.jobflow.sources.model;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Result of one orchestrator fan-out: the merged, normalized list plus the
+ * sources that did not contribute (timed out or failed).
+ */
+public class MergedJobs {
+    private final List<NormalizedJob> items;
+    private final Set<String> timedOutSources;
+    private final Set<String> failedSources;
+    private final long fullFetchAtMs;
+    private final long fetchedAtMs;
+    private volatile JobSnapshot snapshot; // built on first use
+
+    public MergedJobs(List<NormalizedJob> items, Set<String> timedOutSources, Set<String> failedSources) {
+        this(items, timedOutSources, failedSources, System.currentTimeMillis());
+    }
+
+    /** @param fullFetchAtMs when the last full (non-incremental) fetch behind this list ran */
+    public MergedJobs(List<NormalizedJob> items, Set<String> timedOutSources, Set<String> failedSources,
+                      long fullFetchAtMs) {
+        this(items, timedOutSources, failedSources, fullFetchAtMs, System.currentTimeMillis());
+    }
+
+    /** @param fetchedAtMs when this list was fetched, full or incremental (e.g. by another node) */
+    public MergedJobs(List<NormalizedJob> items, Set<String> timedOutSources, Set<String> failedSources,
+                      long fullFetchAtMs, long fetchedAtMs) {
+        this.items = items == null ? List.of() : items;
+        this.timedOutSources = timedOutSources == null ? Set.of() : Set.copyOf(timedOutSources);
+        this.failedSources = failedSources == null ? Set.of() : Set.copyOf(failedSources);
+        this.fullFetchAtMs = fullFetchAtMs;
+        this.fetchedAtMs = fetchedAtMs;
+    }
+
+    /** Result whose items are {@code snapshot}'s jobs (string values shared), snapshot already built. */
+    public MergedJobs(JobSnapshot snapshot, Set<String> timedOutSources, Set<String> failedSources, long fullFetchAtMs) {
+        this(snapshot.jobs(), timedOutSources, failedSources, fullFetchAtMs);
+        this.snapshot = snapshot;
+    }
+
+    public List<NormalizedJob> getItems() { return items; }
+    public Set<String> getTimedOutSources() { return timedOutSources; }
+    public Set<String> getFailedSources() { return failedSources; }
+    public long getFullFetchAtMs() { return fullFetchAtMs; }
+    public long getFetchedAtMs() { return fetchedAtMs; }
+
+    /** Columnar view of the items for filtering and paging, built once per result. */
+    public JobSnapshot getSnapshot() {
+        JobSnapshot s = snapshot;
+        if (s == null) snapshot = s = JobSnapshot.of(items); // a racing second build is harmless
+        return s;
+    }
+
+    /** true when at least one source timed out or failed, i.e. the list may be incomplete */
+    public boolean isPartial() { return !timedOutSources.isEmpty() || !failedSources.isEmpty(); }
+
+    public int size() { return items.size(); }
+}
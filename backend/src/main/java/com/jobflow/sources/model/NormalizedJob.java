@@ -1,24 +1,38 @@
 package com.jobflow.sources.model;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Objects;
 
 public class NormalizedJob {
+    /** {@link #getPostedAtMs()} of a job without a (parseable) posting date */
+    public static final long NO_DATE = Long.MIN_VALUE;
+
     private String id;
     private String title;
     private String company;
     private String location;
     private String source;
     private String applyUrl;
-    private String postedAt;
+    private long postedAtMs = NO_DATE; // parsed once when normalizing
+    // the same posting found elsewhere (other sources / URLs); not part of equals
+    private List<ApplyLink> alternates = List.of();
 
     public NormalizedJob() {}
 
-    public NormalizedJob(String id, String title, String company, String location, String source, String applyUrl, String postedAt) {
-        this.id = id; this.title = title; this.company = company; this.location = location; this.source = source; this.applyUrl = applyUrl; this.postedAt = postedAt;
+    public NormalizedJob(String id, String title, String company, String location, String source, String applyUrl, long postedAtMs) {
+        this.id = id; this.title = title; this.company = company; this.location = location; this.source = source; this.applyUrl = applyUrl; this.postedAtMs = postedAtMs;
     }
 
-
+    /** ISO-8601 instant -> epoch millis, {@link #NO_DATE} if missing or unparseable. */
+    public static long parsePostedAt(String iso) {
+        if (iso == null || iso.isBlank()) return NO_DATE;
+        try {
+            return Instant.parse(iso).toEpochMilli();
+        } catch (Exception e) {
+            return NO_DATE;
+        }
+    }
 
     public String getId() { return id; }
     public String getTitle() { return title; }
@@ -26,7 +40,9 @@ public class NormalizedJob {
     public String getLocation() { return location; }
     public String getSource() { return source; }
     public String getApplyUrl() { return applyUrl; }
-    public String getPostedAt() { return postedAt; }
+    public long getPostedAtMs() { return postedAtMs; }
+    public boolean hasPostedAt() { return postedAtMs != NO_DATE; }
+    public List<ApplyLink> getAlternates() { return alternates; }
 
     public void setId(String id) { this.id = id; }
     public void setTitle(String title) { this.title = title; }
@@ -34,7 +50,8 @@ public class NormalizedJob {
     public void setLocation(String location) { this.location = location; }
     public void setSource(String source) { this.source = source; }
     public void setApplyUrl(String applyUrl) { this.applyUrl = applyUrl; }
-    public void setPostedAt(String postedAt) { this.postedAt = postedAt; }
+    public void setPostedAtMs(long postedAtMs) { this.postedAtMs = postedAtMs; }
+    public void setAlternates(List<ApplyLink> alternates) { this.alternates = alternates == null ? List.of() : alternates; }
 
     @Override public boolean equals(Object o) {
         if (this == o) return true;
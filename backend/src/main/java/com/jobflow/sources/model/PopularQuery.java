@@ -0,0 +1,53 @@
+package com.jobflow.sources.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/** Persisted popularity of one search, so the cache warmer knows what to pre-load after a restart. */
+@Entity
+@Table(name = "popular_query")
+public class PopularQuery {
+
+    // orchestrator cache key (title|location|remoteOnly)
+    @Id
+    @Column(name = "query_key", length = 512)
+    private String key;
+
+    @Column(nullable = false)
+    private String title;
+
+    private String location;
+
+    private boolean remoteOnly;
+
+    // decayed hit count as of updatedAt
+    private double score;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public PopularQuery() { }
+
+    public PopularQuery(String key, String title, String location, boolean remoteOnly, double score, Instant updatedAt) {
+        this.key = key;
+        this.title = title;
+        this.location = location;
+        this.remoteOnly = remoteOnly;
+        this.score = score;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    public boolean isRemoteOnly() { return remoteOnly; }
+    public void setRemoteOnly(boolean remoteOnly) { this.remoteOnly = remoteOnly; }
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
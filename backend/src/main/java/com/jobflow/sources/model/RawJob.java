@@ -1,7 +1,5 @@
 package com.jobflow.sources.model;
 
-import java.time.Instant;
-
 public class RawJob {
     private String source;
     private String title;
@@ -10,6 +8,9 @@ public class RawJob {
     private String applyUrl;
     private String postedAt;
     private String description;
+    private long postedAtMs = UNPARSED; // postedAt parsed on first use
+
+    private static final long UNPARSED = Long.MAX_VALUE;
 
     public RawJob() {}
 
@@ -31,11 +32,18 @@ public class RawJob {
     public String getPostedAt() { return postedAt; }
     public String getDescription() { return description; }
 
+    /** {@code postedAt} as epoch millis ({@link NormalizedJob#NO_DATE} if missing or unparseable), parsed once. */
+    public long postedAtMs() {
+        long ms = postedAtMs;
+        if (ms == UNPARSED) postedAtMs = ms = NormalizedJob.parsePostedAt(postedAt);
+        return ms;
+    }
+
     public void setSource(String source) { this.source = source; }
     public void setTitle(String title) { this.title = title; }
     public void setCompany(String company) { this.company = company; }
     public void setLocation(String location) { this.location = location; }
     public void setApplyUrl(String applyUrl) { this.applyUrl = applyUrl; }
-    public void setPostedAt(String postedAt) { this.postedAt = postedAt; }
+    public void setPostedAt(String postedAt) { this.postedAt = postedAt; this.postedAtMs = UNPARSED; }
     public void setDescription(String description) { this.description = description; }
 }
@@ -0,0 +1,22 @@
+package com.jobflow.sources.model;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * High-water mark of one source for one search: the newest posting date and the apply URLs already
+ * held. An incremental fetch only needs what lies above it.
+ *
+ * @param newestPostedAt newest known posting date, or null if none of the known jobs is dated
+ * @param knownUrls      apply URLs of the jobs already held
+ */
+public record Since(Instant newestPostedAt, Set<String> knownUrls) {
+
+    /** True if {@code job} is already held or older than the newest held posting. */
+    public boolean covers(RawJob job) {
+        if (job.getApplyUrl() != null && knownUrls.contains(job.getApplyUrl())) return true;
+        if (newestPostedAt == null) return false;
+        long posted = job.postedAtMs(); // parsed once, reused by normalisation
+        return posted != NormalizedJob.NO_DATE && posted < newestPostedAt.toEpochMilli();
+    }
+}
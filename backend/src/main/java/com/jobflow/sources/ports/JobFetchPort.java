@@ -1,10 +1,52 @@
 package com.jobflow.sources.ports;
 
+import com.jobflow.sources.model.Deadline;
 import com.jobflow.sources.model.RawJob;
+import com.jobflow.sources.model.Since;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface JobFetchPort {
     String sourceKey();
     List<RawJob> fetch(String jobTitle, String location, boolean remoteOnly, int max);
+
+    /**
+     * Non-blocking variant of {@link #fetch}. Unlike {@code fetch}, upstream errors complete the
+     * future exceptionally instead of yielding an empty list, and cancelling the future should stop
+     * outstanding requests. The default just runs the blocking {@code fetch} on {@code executor};
+     * adapters with a native async client override it and ignore the executor.
+     */
+    default CompletableFuture<List<RawJob>> fetchAsync(String jobTitle, String location, boolean remoteOnly,
+                                                       int max, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> fetch(jobTitle, location, remoteOnly, max), executor);
+    }
+
+    /**
+     * Incremental variant of {@link #fetchAsync}: only jobs above {@code since} are needed, so adapters
+     * that can (date-sorted APIs, stable result order) stop paging once they reach known jobs. The
+     * result may still contain known jobs; the caller drops them. {@code since == null} means a full
+     * fetch. The default ignores the mark and fetches in full.
+     * <p>
+     * {@code deadline} is when the caller gives up on the result; adapters that wait for rate-limit
+     * slots should not wait beyond it.
+     */
+    default CompletableFuture<List<RawJob>> fetchSinceAsync(String jobTitle, String location, boolean remoteOnly,
+                                                            int max, Since since, Deadline deadline, Executor executor) {
+        return fetchAsync(jobTitle, location, remoteOnly, max, executor);
+    }
+
+    /**
+     * Result for a call answered without going upstream (adapter cache, local mirror, source disabled).
+     * The caller does not count it towards the source's latency or health.
+     */
+    static CompletableFuture<List<RawJob>> answeredLocally(List<RawJob> jobs) {
+        return new LocalAnswer(jobs);
+    }
+
+    /** True if {@code f} came from {@link #answeredLocally}. */
+    static boolean isAnsweredLocally(CompletableFuture<?> f) {
+        return f instanceof LocalAnswer;
+    }
 }
@@ -0,0 +1,22 @@
+package com.jobflow.sources.ports;
+
+import com.jobflow.sources.model.NormalizedJob;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Receives the merged jobs of every complete fresh upstream fan-out (not cache hits, and not partial
+ * results where a source timed out, failed or was skipped), keyed by the canonical query that
+ * produced them. An incremental round also passes its whole merged list, not just the new jobs, so
+ * every job still returned for the search counts as seen again. Called on the fetching thread, so
+ * implementations should hand off quickly.
+ */
+public interface JobSinkPort {
+    /**
+     * @param descriptions job id -> description text, for the jobs fetched in this round whose source
+     *                     sent one (descriptions are not kept in cached results, so this is the only
+     *                     place they are seen); jobs carried over from an earlier round have none
+     */
+    void accept(String queryKey, List<NormalizedJob> jobs, Map<String, String> descriptions);
+}
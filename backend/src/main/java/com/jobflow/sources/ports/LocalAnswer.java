@@ -0,0 +1,20 @@
+package com.jobflow.sources.ports;
+
+import com.jobflow.sources.model.RawJob;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/** Marker for a fetch answered without an upstream call, see {@link JobFetchPort#answeredLocally}. */
+final class LocalAnswer extends CompletableFuture<List<RawJob>> {
+
+    LocalAnswer(List<RawJob> jobs) {
+        complete(jobs);
+    }
+
+    // stages chained on it are ordinary futures, not marked
+    @Override
+    public <U> CompletableFuture<U> newIncompleteFuture() {
+        return new CompletableFuture<>();
+    }
+}
@@ -0,0 +1,8 @@
+package com.jobflow.sources.query;
+
+/**
+ * A search after canonicalisation. {@code title} and {@code location} are the user's text as sent
+ * upstream (whitespace folded only); {@code key} is built from the canonical words, so it is the same
+ * for every spelling of the search.
+ */
+public record CanonicalQuery(String title, String location, boolean remoteOnly, String key) { }
@@ -0,0 +1,132 @@
+package com.jobflow.sources.query;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maps the many spellings of a search onto one cache key: lowercase, punctuation and whitespace
+ * folded, title synonyms and city aliases applied (longest phrase first), plurals stemmed, repeated
+ * words dropped, title words sorted. "Java Developers", "developer java" and "Java Dev" all share
+ * "developer java".
+ *
+ * <p>The canonical words are only used for the key. Sources get the user's own text (whitespace
+ * folded), since a synonym or a stem can change what an upstream search matches ("golang" -> "go",
+ * "pandas" -> "panda"). Spellings sharing a key share the cached result of whichever was fetched first.
+ */
+@Component
+public class QueryCanonicalizer {
+
+    private final QueryProperties props;
+    private final Dictionary titles;
+    private final Dictionary cities;
+
+    public QueryCanonicalizer(QueryProperties props) {
+        this.props = props;
+        this.titles = new Dictionary(props.getTitleSynonyms());
+        this.cities = new Dictionary(props.getCityAliases());
+    }
+
+    public CanonicalQuery canonicalize(String title, String location, boolean remoteOnly) {
+        String t = upstream(title);
+        String l = upstream(location);
+        if (!props.isCanonicalize()) {
+            return new CanonicalQuery(t, l, remoteOnly,
+                    t.toLowerCase(Locale.ROOT) + "|" + l.toLowerCase(Locale.ROOT) + "|" + remoteOnly);
+        }
+
+        List<String> sorted = new ArrayList<>(titleWords(title));
+        sorted.sort(null);
+        String keyLocation = String.join(" ", locationWords(location));
+        return new CanonicalQuery(t, l, remoteOnly, String.join(" ", sorted) + "|" + keyLocation + "|" + remoteOnly);
+    }
+
+    // What the sources are asked for: the user's text, trimmed, inner whitespace folded to one space.
+    static String upstream(String s) {
+        return Objects.toString(s, "").trim().replaceAll("\\s+", " ");
+    }
+
+    /** Canonical words of a search or posting title ("Sr. Java Devs" -> senior, java, developer). */
+    public List<String> titleWords(String title) {
+        // synonyms before stemming ("devs", "reactjs") and after it ("programmers" -> "programmer")
+        List<String> out = new ArrayList<>();
+        for (String w : titles.apply(words(title))) out.add(stem(w));
+        return distinct(titles.apply(out));
+    }
+
+    /** Canonical words of a location ("Bengaluru" -> bangalore). */
+    public List<String> locationWords(String location) {
+        return distinct(cities.apply(words(location)));
+    }
+
+    // Lowercase words; anything but letters, digits, '+', '#' and inner dots separates them (c++, c#, node.js).
+    static List<String> words(String s) {
+        List<String> out = new ArrayList<>();
+        if (s == null || s.isBlank()) return out;
+        for (String w : s.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#.]+")) {
+            int from = 0, to = w.length();
+            while (from < to && w.charAt(from) == '.') from++;
+            while (to > from && w.charAt(to - 1) == '.') to--;
+            if (from < to) out.add(w.substring(from, to));
+        }
+        return out;
+    }
+
+    // Plural -> singular for the common English endings; short words and listed exceptions are left alone.
+    String stem(String w) {
+        if (w.length() <= 3 || props.getStemExceptions().contains(w) || !w.endsWith("s")) return w;
+        if (w.endsWith("ss") || w.endsWith("us") || w.endsWith("is") || w.endsWith("js")) return w;
+        if (!w.chars().allMatch(Character::isLetter)) return w; // c#, node.js, s3 ...
+        if (w.endsWith("ies") && w.length() > 4) return w.substring(0, w.length() - 3) + "y";
+        if (w.endsWith("sses") || w.endsWith("ches") || w.endsWith("shes") || w.endsWith("xes")) {
+            return w.substring(0, w.length() - 2);
+        }
+        return w.substring(0, w.length() - 1);
+    }
+
+    private static List<String> distinct(List<String> words) {
+        return new ArrayList<>(new LinkedHashSet<>(words));
+    }
+
+    /** Phrase -> replacement, matched on whole words, longest phrase first. */
+    private static final class Dictionary {
+        private final Map<List<String>, List<String>> entries = new HashMap<>();
+        private final int longest;
+
+        Dictionary(Map<String, String> raw) {
+            int max = 0;
+            for (Map.Entry<String, String> e : raw.entrySet()) {
+                List<String> from = words(e.getKey());
+                if (from.isEmpty()) continue;
+                entries.put(from, words(e.getValue()));
+                max = Math.max(max, from.size());
+            }
+            this.longest = max;
+        }
+
+        List<String> apply(List<String> words) {
+            if (entries.isEmpty()) return words;
+            List<String> out = new ArrayList<>(words.size());
+            int i = 0;
+            outer:
+            while (i < words.size()) {
+                for (int n = Math.min(longest, words.size() - i); n > 0; n--) {
+                    List<String> replacement = entries.get(words.subList(i, i + n));
+                    if (replacement != null) {
+                        out.addAll(replacement);
+                        i += n;
+                        continue outer;
+                    }
+                }
+                out.add(words.get(i++));
+            }
+            return out;
+        }
+    }
+}
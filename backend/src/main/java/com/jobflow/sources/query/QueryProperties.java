@@ -0,0 +1,83 @@
+package com.jobflow.sources.query;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "sources.query")
+public class QueryProperties {
+    /** Fold equivalent searches onto one cache key (false = trim + lowercase only) */
+    private boolean canonicalize = true;
+
+    /**
+     * Title words / phrases replaced before keying, e.g. sources.query.title-synonyms.dev=developer;
+     * phrases need brackets: sources.query.title-synonyms.[full stack]=fullstack
+     */
+    private Map<String, String> titleSynonyms = new HashMap<>(Map.ofEntries(
+            Map.entry("dev", "developer"),
+            Map.entry("devs", "developer"),
+            Map.entry("engg", "engineer"),
+            Map.entry("engr", "engineer"),
+            Map.entry("sr", "senior"),
+            Map.entry("jr", "junior"),
+            Map.entry("mgr", "manager"),
+            Map.entry("sde", "software development engineer"),
+            Map.entry("swe", "software engineer"),
+            Map.entry("programmer", "developer"),
+            Map.entry("reactjs", "react"),
+            Map.entry("react js", "react"),
+            Map.entry("react.js", "react"),
+            Map.entry("nodejs", "node"),
+            Map.entry("node js", "node"),
+            Map.entry("node.js", "node"),
+            Map.entry("js", "javascript"),
+            Map.entry("ts", "typescript"),
+            Map.entry("golang", "go"),
+            Map.entry("full stack", "fullstack"),
+            Map.entry("front end", "frontend"),
+            Map.entry("back end", "backend"),
+            Map.entry("ml", "machine learning"),
+            Map.entry("ai", "artificial intelligence")
+    ));
+
+    /** Location aliases (old / alternate city names), e.g. sources.query.city-aliases.bengaluru=bangalore */
+    private Map<String, String> cityAliases = new HashMap<>(Map.ofEntries(
+            Map.entry("bengaluru", "bangalore"),
+            Map.entry("blr", "bangalore"),
+            Map.entry("bombay", "mumbai"),
+            Map.entry("navi mumbai", "mumbai"),
+            Map.entry("new delhi", "delhi"),
+            Map.entry("delhi ncr", "delhi"),
+            Map.entry("ncr", "delhi"),
+            Map.entry("gurugram", "gurgaon"),
+            Map.entry("madras", "chennai"),
+            Map.entry("calcutta", "kolkata"),
+            Map.entry("poona", "pune"),
+            Map.entry("trivandrum", "thiruvananthapuram"),
+            Map.entry("cochin", "kochi"),
+            Map.entry("mysore", "mysuru"),
+            Map.entry("baroda", "vadodara"),
+            Map.entry("secunderabad", "hyderabad"),
+            Map.entry("work from home", "remote"),
+            Map.entry("wfh", "remote")
+    ));
+
+    /** Title words ending in "s" that are not plurals and must not be stemmed */
+    private Set<String> stemExceptions = new HashSet<>(Set.of(
+            "devops", "sales", "analytics", "kubernetes", "ios", "aws", "gcp", "windows", "express",
+            "business", "access", "news", "graphics", "economics", "statistics", "logistics", "physics",
+            "redis", "jenkins", "nodejs", "nextjs", "vuejs", "ops", "hris", "cms", "crm", "gis"
+    ));
+
+    public boolean isCanonicalize() { return canonicalize; }
+    public void setCanonicalize(boolean canonicalize) { this.canonicalize = canonicalize; }
+    public Map<String, String> getTitleSynonyms() { return titleSynonyms; }
+    public void setTitleSynonyms(Map<String, String> titleSynonyms) { this.titleSynonyms = titleSynonyms; }
+    public Map<String, String> getCityAliases() { return cityAliases; }
+    public void setCityAliases(Map<String, String> cityAliases) { this.cityAliases = cityAliases; }
+    public Set<String> getStemExceptions() { return stemExceptions; }
+    public void setStemExceptions(Set<String> stemExceptions) { this.stemExceptions = stemExceptions; }
+}
@@ -0,0 +1,20 @@
+package com.jobflow.sources.repo;
+
+import com.jobflow.sources.model.CachedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface CachedSearchRepository extends JpaRepository<CachedSearch, String> {
+    Optional<CachedSearch> findByKeyAndExpiresAtAfter(String key, Instant after);
+
+    @Transactional
+    @Modifying
+    @Query("delete from CachedSearch c where c.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
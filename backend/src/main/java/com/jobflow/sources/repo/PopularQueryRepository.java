@@ -0,0 +1,16 @@
+package com.jobflow.sources.repo;
+
+import com.jobflow.sources.model.PopularQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PopularQueryRepository extends JpaRepository<PopularQuery, String> {
+    List<PopularQuery> findByOrderByScoreDesc(Pageable page);
+
+    @Transactional
+    long deleteByUpdatedAtBefore(Instant cutoff);
+}
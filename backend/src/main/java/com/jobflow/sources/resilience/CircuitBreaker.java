@@ -0,0 +1,64 @@
+package com.jobflow.sources.resilience;
+
+/**
+ * Consecutive-failure breaker. CLOSED lets everything through; {@code failureThreshold} failures in
+ * a row open it. OPEN rejects calls until {@code openMs} has passed, then HALF_OPEN admits up to
+ * {@code halfOpenProbes} calls: one success closes it again, a failure re-opens it.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final ResilienceProperties props;
+
+    // guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMs;
+    private int probesInFlight;
+    private long rejected;
+
+    CircuitBreaker(ResilienceProperties props) {
+        this.props = props;
+    }
+
+    /** True if the call may go ahead; every permitted call must end in onSuccess or onFailure. */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAtMs >= props.getOpenMs()) {
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+        }
+        boolean permitted = switch (state) {
+            case CLOSED -> true;
+            // only a few probes test the source at a time
+            case HALF_OPEN -> probesInFlight < Math.max(1, props.getHalfOpenProbes());
+            case OPEN -> false;
+        };
+        if (!permitted) rejected++;
+        else if (state == State.HALF_OPEN) probesInFlight++;
+        return permitted;
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= props.getFailureThreshold()) {
+            state = State.OPEN;
+            openedAtMs = System.currentTimeMillis();
+        }
+    }
+
+    /** A permitted call that ended without an outcome (e.g. cancelled by shutdown). */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) probesInFlight--;
+    }
+
+    synchronized State state() { return state; }
+    synchronized int consecutiveFailures() { return consecutiveFailures; }
+    synchronized long openedAtMs() { return state == State.CLOSED ? 0 : openedAtMs; }
+    synchronized long rejected() { return rejected; }
+}
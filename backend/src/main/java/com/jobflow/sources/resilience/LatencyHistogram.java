@@ -0,0 +1,90 @@
+package com.jobflow.sources.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Rolling latency histogram. Bins are log-spaced (each ~25% wider than the previous, 1 ms to ~20
+ * min) so percentiles are accurate to about one bin width at any scale. The window is split
+ * into slices; a slice older than the window is cleared before it is reused.
+ */
+class LatencyHistogram {
+
+    private static final double GROWTH = 1.25;
+    private static final int BINS = 64;               // upper bound of last bin is ~1.3M ms
+    private static final int SLICES = 10;
+    private static final long[] UPPER_MS = new long[BINS];
+
+    static {
+        double b = 1;
+        for (int i = 0; i < BINS; i++) {
+            UPPER_MS[i] = (long) Math.ceil(b);
+            b *= GROWTH;
+        }
+    }
+
+    private final long sliceMs;
+    private final long[][] counts = new long[SLICES][BINS];
+    private final long[] sliceStart = new long[SLICES];
+
+    LatencyHistogram(long windowMs) {
+        this.sliceMs = Math.max(1, windowMs / SLICES);
+    }
+
+    synchronized void record(long latencyMs) {
+        long now = System.currentTimeMillis();
+        int s = slice(now);
+        counts[s][bin(latencyMs)]++;
+    }
+
+    synchronized long count() {
+        long now = System.currentTimeMillis();
+        long n = 0;
+        for (int s = 0; s < SLICES; s++) {
+            if (!live(s, now)) continue;
+            for (long c : counts[s]) n += c;
+        }
+        return n;
+    }
+
+    /** Upper bound of the bin holding the {@code p}-quantile, or -1 without samples. */
+    synchronized long percentile(double p) {
+        long now = System.currentTimeMillis();
+        long[] merged = new long[BINS];
+        long total = 0;
+        for (int s = 0; s < SLICES; s++) {
+            if (!live(s, now)) continue;
+            for (int b = 0; b < BINS; b++) {
+                merged[b] += counts[s][b];
+                total += counts[s][b];
+            }
+        }
+        if (total == 0) return -1;
+        long rank = (long) Math.ceil(p * total);
+        long seen = 0;
+        for (int b = 0; b < BINS; b++) {
+            seen += merged[b];
+            if (seen >= rank) return UPPER_MS[b];
+        }
+        return UPPER_MS[BINS - 1];
+    }
+
+    // Slice for "now", cleared first if it still holds data from an older lap.
+    private int slice(long now) {
+        long start = now - now % sliceMs;
+        int s = (int) ((now / sliceMs) % SLICES);
+        if (sliceStart[s] != start) {
+            Arrays.fill(counts[s], 0);
+            sliceStart[s] = start;
+        }
+        return s;
+    }
+
+    private boolean live(int s, long now) {
+        return now - sliceStart[s] < sliceMs * SLICES;
+    }
+
+    private static int bin(long ms) {
+        for (int i = 0; i < BINS; i++) if (ms <= UPPER_MS[i]) return i;
+        return BINS - 1;
+    }
+}
@@ -0,0 +1,48 @@
+package com.jobflow.sources.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "sources.resilience")
+public class ResilienceProperties {
+    /** Turn breakers and adaptive timeouts off (fixed orchestrator timeouts only) */
+    private boolean enabled = true;
+
+    /** Consecutive failures (errors or timeouts) that open a source's breaker */
+    private int failureThreshold = 5;
+
+    /** How long an open breaker skips the source before letting a probe through */
+    private long openMs = 30_000;
+
+    /** Concurrent probe calls allowed while half-open */
+    private int halfOpenProbes = 1;
+
+    /** Adaptive timeout = latency percentile + margin, never below minTimeoutMs nor above the configured one */
+    private double timeoutPercentile = 0.99;
+    private long timeoutMarginMs = 500;
+    private long minTimeoutMs = 1500;
+
+    /** Samples needed in the window before the adaptive timeout kicks in */
+    private int minSamples = 20;
+
+    /** Rolling window of the latency histogram */
+    private int windowSeconds = 300;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getFailureThreshold() { return failureThreshold; }
+    public void setFailureThreshold(int failureThreshold) { this.failureThreshold = failureThreshold; }
+    public long getOpenMs() { return openMs; }
+    public void setOpenMs(long openMs) { this.openMs = openMs; }
+    public int getHalfOpenProbes() { return halfOpenProbes; }
+    public void setHalfOpenProbes(int halfOpenProbes) { this.halfOpenProbes = halfOpenProbes; }
+    public double getTimeoutPercentile() { return timeoutPercentile; }
+    public void setTimeoutPercentile(double timeoutPercentile) { this.timeoutPercentile = timeoutPercentile; }
+    public long getTimeoutMarginMs() { return timeoutMarginMs; }
+    public void setTimeoutMarginMs(long timeoutMarginMs) { this.timeoutMarginMs = timeoutMarginMs; }
+    public long getMinTimeoutMs() { return minTimeoutMs; }
+    public void setMinTimeoutMs(long minTimeoutMs) { this.minTimeoutMs = minTimeoutMs; }
+    public int getMinSamples() { return minSamples; }
+    public void setMinSamples(int minSamples) { this.minSamples = minSamples; }
+    public int getWindowSeconds() { return windowSeconds; }
+    public void setWindowSeconds(int windowSeconds) { this.windowSeconds = windowSeconds; }
+}
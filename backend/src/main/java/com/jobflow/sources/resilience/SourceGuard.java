@@ -0,0 +1,68 @@
+package com.jobflow.sources.resilience;
+
+/**
+ * Breaker plus latency histogram for one source. Callers ask {@link #tryAcquire()} before calling
+ * the source, use {@link #timeoutMs(long)} as its deadline and report the outcome.
+ */
+public class SourceGuard {
+
+    private final String source;
+    private final ResilienceProperties props;
+    private final CircuitBreaker breaker;
+    private final LatencyHistogram latencies;
+
+    SourceGuard(String source, ResilienceProperties props) {
+        this.source = source;
+        this.props = props;
+        this.breaker = new CircuitBreaker(props);
+        this.latencies = new LatencyHistogram(props.getWindowSeconds() * 1000L);
+    }
+
+    public boolean tryAcquire() {
+        return !props.isEnabled() || breaker.tryAcquire();
+    }
+
+    /**
+     * Percentile latency plus margin once enough samples are in, clamped to
+     * [{@code minTimeoutMs}, {@code configuredMs}]; the configured value until then.
+     */
+    public long timeoutMs(long configuredMs) {
+        if (!props.isEnabled() || latencies.count() < props.getMinSamples()) return configuredMs;
+        long p = latencies.percentile(props.getTimeoutPercentile());
+        long adaptive = p + props.getTimeoutMarginMs();
+        return Math.min(configuredMs, Math.max(props.getMinTimeoutMs(), adaptive));
+    }
+
+    public void onSuccess(long latencyMs) {
+        latencies.record(latencyMs);
+        CircuitBreaker.State before = breaker.state();
+        breaker.onSuccess();
+        if (before != CircuitBreaker.State.CLOSED) System.out.printf("[Resilience] %s recovered, breaker closed%n", source);
+    }
+
+    /** Errors and timeouts; for a timeout pass the deadline so the histogram sees how slow it was. */
+    public void onFailure(long latencyMs) {
+        latencies.record(latencyMs);
+        CircuitBreaker.State before = breaker.state();
+        breaker.onFailure();
+        if (before != CircuitBreaker.State.OPEN && breaker.state() == CircuitBreaker.State.OPEN) {
+            System.out.printf("[Resilience] %s breaker OPEN after %d failure(s); skipping for %d ms%n",
+                    source, breaker.consecutiveFailures(), props.getOpenMs());
+        }
+    }
+
+    /** The adapter answered without calling the source: no latency sample, breaker unchanged. */
+    public void onAnsweredLocally() {
+        breaker.onIgnored();
+    }
+
+    public void onIgnored() {
+        breaker.onIgnored();
+    }
+
+    SourceHealth health(long configuredTimeoutMs) {
+        return new SourceHealth(source, breaker.state(), breaker.consecutiveFailures(), breaker.openedAtMs(),
+                breaker.rejected(), latencies.count(), latencies.percentile(0.5), latencies.percentile(0.99),
+                timeoutMs(configuredTimeoutMs));
+    }
+}
@@ -0,0 +1,14 @@
+package com.jobflow.sources.resilience;
+
+/** Breaker state and latency view of one source, as served by /api/health/sources. */
+public record SourceHealth(
+        String source,
+        CircuitBreaker.State state,
+        int consecutiveFailures,
+        long openedAtMs,
+        long rejected,
+        long samples,
+        long p50Ms,
+        long p99Ms,
+        long timeoutMs
+) { }
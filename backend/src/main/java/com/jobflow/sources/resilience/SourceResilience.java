@@ -0,0 +1,31 @@
+package com.jobflow.sources.resilience;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/** One {@link SourceGuard} per source key, created on first use. */
+@Component
+public class SourceResilience {
+
+    private final ResilienceProperties props;
+    private final Map<String, SourceGuard> guards = new ConcurrentHashMap<>();
+
+    public SourceResilience(ResilienceProperties props) {
+        this.props = props;
+    }
+
+    public SourceGuard guard(String source) {
+        return guards.computeIfAbsent(source, s -> new SourceGuard(s, props));
+    }
+
+    /** Current state per source; {@code configuredTimeoutMs} gives each source's upper bound. */
+    public List<SourceHealth> health(List<String> sources, ToLongFunction<String> configuredTimeoutMs) {
+        return sources.stream()
+                .map(s -> guard(s).health(configuredTimeoutMs.applyAsLong(s)))
+                .toList();
+    }
+}
@@ -0,0 +1,89 @@
+// backend/src/main/java/com/jobflow/sources/service/OrchestratorProperties.java
+package com.jobflow.sources.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "sources.orchestrator")
+public class OrchestratorProperties {
+    /** Run adapters concurrently (false = old one-after-another behaviour) */
+    private boolean parallel = true;
+
+    /** Upper bound on fan-out worker threads shared by all queries */
+    private int maxThreads = 8;
+
+    /** Whole fan-out budget; sources still running after this are dropped */
+    private long overallTimeoutMs = 12000;
+
+    /** Default per-source budget (capped by overallTimeoutMs) */
+    private long sourceTimeoutMs = 8000;
+
+    /** Optional per-source overrides, e.g. sources.orchestrator.source-timeouts-ms.naukri=10000 */
+    private Map<String, Long> sourceTimeoutsMs = new HashMap<>();
+
+    /** Soft TTL: past this a cached search is served stale while one background refresh runs */
+    private int cacheRefreshAfterMinutes = 10;
+
+    /** Hard TTL: past this a cached search is dropped and the next caller fetches synchronously */
+    private int cacheTtlMinutes = 30;
+
+    /** A partial result (a source timed out or failed) goes stale after this instead of the soft TTL */
+    private int partialTtlSeconds = 60;
+
+    /** Refresh-ahead: reload entries this long before they go stale... */
+    private int refreshAheadSeconds = 60;
+
+    /** ...but only if someone read them within this many minutes */
+    private int refreshIfReadWithinMinutes = 5;
+
+    /** Refresh cached searches incrementally: sources only fetch what is newer than their high-water mark */
+    private boolean incremental = true;
+
+    /** ...with a full refetch at least this often, which also drops delisted jobs */
+    private int fullRefreshMinutes = 60;
+
+    /** Cache bounds: number of distinct searches and total jobs held across them */
+    private int cacheMaxEntries = 1000;
+    private long cacheMaxJobs = 100_000;
+
+    // getters/setters
+    public boolean isParallel() { return parallel; }
+    public void setParallel(boolean parallel) { this.parallel = parallel; }
+    public int getMaxThreads() { return maxThreads; }
+    public void setMaxThreads(int maxThreads) { this.maxThreads = maxThreads; }
+    public long getOverallTimeoutMs() { return overallTimeoutMs; }
+    public void setOverallTimeoutMs(long overallTimeoutMs) { this.overallTimeoutMs = overallTimeoutMs; }
+    public long getSourceTimeoutMs() { return sourceTimeoutMs; }
+    public void setSourceTimeoutMs(long sourceTimeoutMs) { this.sourceTimeoutMs = sourceTimeoutMs; }
+    public Map<String, Long> getSourceTimeoutsMs() { return sourceTimeoutsMs; }
+    public void setSourceTimeoutsMs(Map<String, Long> sourceTimeoutsMs) { this.sourceTimeoutsMs = sourceTimeoutsMs; }
+
+    public int getCacheRefreshAfterMinutes() { return cacheRefreshAfterMinutes; }
+    public void setCacheRefreshAfterMinutes(int cacheRefreshAfterMinutes) { this.cacheRefreshAfterMinutes = cacheRefreshAfterMinutes; }
+    public int getCacheTtlMinutes() { return cacheTtlMinutes; }
+    public void setCacheTtlMinutes(int cacheTtlMinutes) { this.cacheTtlMinutes = cacheTtlMinutes; }
+    public int getPartialTtlSeconds() { return partialTtlSeconds; }
+    public void setPartialTtlSeconds(int partialTtlSeconds) { this.partialTtlSeconds = partialTtlSeconds; }
+    public int getRefreshAheadSeconds() { return refreshAheadSeconds; }
+    public void setRefreshAheadSeconds(int refreshAheadSeconds) { this.refreshAheadSeconds = refreshAheadSeconds; }
+    public int getRefreshIfReadWithinMinutes() { return refreshIfReadWithinMinutes; }
+    public void setRefreshIfReadWithinMinutes(int refreshIfReadWithinMinutes) { this.refreshIfReadWithinMinutes = refreshIfReadWithinMinutes; }
+
+    public boolean isIncremental() { return incremental; }
+    public void setIncremental(boolean incremental) { this.incremental = incremental; }
+    public int getFullRefreshMinutes() { return fullRefreshMinutes; }
+    public void setFullRefreshMinutes(int fullRefreshMinutes) { this.fullRefreshMinutes = fullRefreshMinutes; }
+
+    public int getCacheMaxEntries() { return cacheMaxEntries; }
+    public void setCacheMaxEntries(int cacheMaxEntries) { this.cacheMaxEntries = cacheMaxEntries; }
+    public long getCacheMaxJobs() { return cacheMaxJobs; }
+    public void setCacheMaxJobs(long cacheMaxJobs) { this.cacheMaxJobs = cacheMaxJobs; }
+
+    public long timeoutFor(String sourceKey) {
+        Long override = sourceTimeoutsMs.get(sourceKey);
+        long perSource = override != null ? override : sourceTimeoutMs;
+        return Math.min(perSource, overallTimeoutMs);
+    }
+}
@@ -1,10 +1,28 @@
 package com.jobflow.sources.service;
 
+import com.jobflow.common.cache.CacheLoadException;
+import com.jobflow.common.cache.CacheStats;
 import com.jobflow.common.cache.SimpleCache;
+import com.jobflow.common.exception.AppException;
+import com.jobflow.sources.cache.SharedSearchCache;
+import com.jobflow.sources.dedup.JobDeduplicator;
+import com.jobflow.sources.model.ApplyLink;
+import com.jobflow.sources.model.Deadline;
+import com.jobflow.sources.model.JobSnapshot;
+import com.jobflow.sources.model.MergedJobs;
 import com.jobflow.sources.model.NormalizedJob;
 import com.jobflow.sources.model.RawJob;
+import com.jobflow.sources.model.Since;
 import com.jobflow.sources.ports.JobFetchPort;
+import com.jobflow.sources.ports.JobSinkPort;
+import com.jobflow.sources.query.CanonicalQuery;
+import com.jobflow.sources.query.QueryCanonicalizer;
+import com.jobflow.sources.resilience.SourceGuard;
+import com.jobflow.sources.resilience.SourceHealth;
+import com.jobflow.sources.resilience.SourceResilience;
+import com.jobflow.sources.warmup.PopularityTracker;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
@@ -13,24 +31,100 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Locale;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class SourceOrchestrator {
 
-    // Cache ~10 minutes; store at most 200 normalized jobs per query key
-    private static final int CACHE_TTL_MIN = 10;
+    // Cache TTLs come from OrchestratorProperties; store at most 200 normalized jobs per query key
     private static final int MAX_CACHE_ITEMS = 200;
+    private static final long LOAD_WAIT_SLACK_MS = 2000;
+    // descriptions only go to the sinks (full-text index); this is plenty for relevance
+    private static final int MAX_DESCRIPTION_CHARS = 2000;
 
     private final List<JobFetchPort> adapters;
-    private final SimpleCache<String, List<NormalizedJob>> cache =
-            new SimpleCache<>(Duration.ofMinutes(CACHE_TTL_MIN));
+    private final OrchestratorProperties props;
+    private final ExecutorService fanOutExecutor;
+    private final SimpleCache<String, MergedJobs> cache;
+    private final SourceResilience resilience;
+    private final PopularityTracker popularity;
+    private final QueryCanonicalizer canonicalizer;
+    private final SharedSearchCache shared;
+    private final List<JobSinkPort> sinks;
+    private final JobDeduplicator dedup;
+    // full fan-outs running right now, per cache key, so streaming callers can join them
+    private final Map<String, LiveLoad> liveLoads = new ConcurrentHashMap<>();
 
-    public SourceOrchestrator(List<JobFetchPort> adapters) {
+    public SourceOrchestrator(List<JobFetchPort> adapters, OrchestratorProperties props, SourceResilience resilience,
+                              PopularityTracker popularity, QueryCanonicalizer canonicalizer, SharedSearchCache shared,
+                              List<JobSinkPort> sinks, JobDeduplicator dedup) {
         this.adapters = adapters;
+        this.sinks = sinks;
+        this.dedup = dedup;
+        this.props = props;
+        this.resilience = resilience;
+        this.popularity = popularity;
+        this.canonicalizer = canonicalizer;
+        this.shared = shared;
+        this.fanOutExecutor = newFanOutExecutor(props.getMaxThreads());
+        // stale-while-revalidate between the soft and hard TTL, plus refresh-ahead for keys in use;
+        // bounded by number of searches and by total cached jobs; partial results are refetched soon
+        this.cache = SimpleCache.<String, MergedJobs>builder(Duration.ofMinutes(props.getCacheTtlMinutes()))
+                .maxEntries(props.getCacheMaxEntries())
+                .maxWeight(props.getCacheMaxJobs(), MergedJobs::size)
+                .refreshAfter(Duration.ofMinutes(props.getCacheRefreshAfterMinutes()))
+                .shortLived(MergedJobs::isPartial, Duration.ofSeconds(props.getPartialTtlSeconds()))
+                .loadedAt(MergedJobs::getFetchedAtMs) // a shared copy is only as fresh as its fetch
+                .refreshAhead(Duration.ofSeconds(props.getRefreshAheadSeconds()),
+                        Duration.ofMinutes(props.getRefreshIfReadWithinMinutes()))
+                .name("orchestrator")
+                .build();
+        // another node fetched this search: drop our older copy, the next read takes the shared one
+        shared.onRemoteStore(cache::invalidate);
+    }
+
+    // Bounded pool: threads spin up on demand and idle out; a small queue absorbs bursts,
+    // beyond that we reject instead of piling up blocked request threads.
+    private static ExecutorService newFanOutExecutor(int maxThreads) {
+        int threads = Math.max(1, maxThreads);
+        AtomicInteger seq = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(threads * 16), r -> {
+                    Thread t = new Thread(r, "fanout-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        cache.close();
+        fanOutExecutor.shutdownNow();
     }
 
     @PostConstruct
@@ -39,22 +133,25 @@ public class SourceOrchestrator {
                 adapters.stream().map(JobFetchPort::sourceKey).toList());
     }
 
-    private String key(String title, String location, boolean remoteOnly) {
-        String t = Objects.toString(title, "").trim().toLowerCase(Locale.ROOT);
-        String l = Objects.toString(location, "").trim().toLowerCase(Locale.ROOT);
-        return t + "|" + l + "|" + remoteOnly;
+    // every spelling of a search shares one cache entry; sources get the user's own text
+    private CanonicalQuery canonical(String title, String location, boolean remoteOnly) {
+        return canonicalizer.canonicalize(title, location, remoteOnly);
     }
-    private static Instant safeParse(String s) {
-        try {
-            return (s == null || s.isBlank()) ? null : Instant.parse(s);
-        } catch (Exception e) {
-            return null;
-        }
+
+    /** The canonical form (and cache / store key) of a search. */
+    public CanonicalQuery canonicalize(String title, String location, boolean remoteOnly) {
+        return canonical(title, location, remoteOnly);
+    }
+
+    /** Counts a search answered elsewhere (e.g. from the job store), so it stays warm. */
+    public void recordAccess(CanonicalQuery q) {
+        popularity.record(q.key(), q.title(), q.location(), q.remoteOnly());
     }
 
     /**
-     * Fan-out to all sources, merge, normalize, de-dup, sort desc by postedAt.
-     * Caches a capped, normalized list per (title|location|remoteOnly).
+     * Fan-out to all sources, merge, normalize, de-dup (exact and near duplicates across sources),
+     * sort desc by postedAt.
+     * Caches a capped, normalized list per canonical (title|location|remoteOnly).
      *
      * @param jobTitle    title to search
      * @param location    location filter (can be blank)
@@ -62,45 +159,465 @@ public class SourceOrchestrator {
      * @param max         max number of items the caller wants back (cap on the returned list)
      */
     public List<NormalizedJob> fetchAll(String jobTitle, String location, boolean remoteOnly, int max) {
+        return fetchMerged(jobTitle, location, remoteOnly, max).getItems();
+    }
+
+    /**
+     * Same as {@link #fetchAll} but keeps the fan-out metadata, so callers can tell
+     * a complete result from a partial one (some sources timed out or failed).
+     */
+    public MergedJobs fetchMerged(String jobTitle, String location, boolean remoteOnly, int max) {
         final int safeMax = Math.max(1, max); // guard against 0/negative
 
-        String cacheKey = key(jobTitle, location, remoteOnly);
-
-        // Compute and cache (if miss/expired)
-        List<NormalizedJob> merged = cache.getOrCompute(cacheKey, () -> {
-            // ---- Fan-out to adapters ----
-            List<RawJob> raw = new ArrayList<>();
-            for (JobFetchPort a : adapters) {
-                try {
-                    // Ask each adapter for up to MAX_CACHE_ITEMS; adapter may page internally
-                    List<RawJob> part = a.fetch(jobTitle, location, remoteOnly, MAX_CACHE_ITEMS);
-                    System.out.printf("[Orchestrator] %s returned %d items%n",
-                            a.sourceKey(), part == null ? 0 : part.size());
-                    if (part != null) raw.addAll(part);
-                } catch (Exception e) {
-                    System.out.printf("[Orchestrator] %s error: %s%n", a.sourceKey(), e.getMessage());
-                }
-            }
+        CanonicalQuery q = canonical(jobTitle, location, remoteOnly);
+        popularity.record(q.key(), q.title(), q.location(), remoteOnly);
 
-            // ---- Normalize → de-dup → sort (desc by postedAt) ----
-            return raw.stream()
-                    .map(this::normalize)
-                    .distinct()
-                    .sorted(Comparator.comparing((NormalizedJob j) -> safeParse(j.getPostedAt()),
-                    Comparator.nullsLast(Comparator.reverseOrder())
-                    ))
-                    .limit(MAX_CACHE_ITEMS) // cap what we store to avoid huge memory
-                    .toList();
-        });
+        MergedJobs merged = cached(q);
 
         // ---- Return a view capped to the requested max ----
         if (merged.size() > safeMax) {
             // Copy to avoid returning a live subList view
-            return new ArrayList<>(merged.subList(0, safeMax));
+            return new MergedJobs(new ArrayList<>(merged.getItems().subList(0, safeMax)),
+                    merged.getTimedOutSources(), merged.getFailedSources());
+        }
+        return merged;
+    }
+
+    // Compute and cache (if miss/expired); concurrent misses on the key share one fan-out,
+    // followers wait a little longer than the fan-out budget before giving up
+    private MergedJobs cached(CanonicalQuery q) {
+        try {
+            return cache.getOrCompute(q.key(), () -> load(q),
+                    Duration.ofMillis(props.getOverallTimeoutMs() + LOAD_WAIT_SLACK_MS));
+        } catch (CacheLoadException e) {
+            System.out.printf("[Orchestrator] %s%n", e.getMessage());
+            throw AppException.unavailable("Job sources are still loading for this search, please retry");
+        }
+    }
+
+    /**
+     * Receives each source's newly seen jobs as soon as that source finishes, already de-duplicated:
+     * near duplicates of earlier jobs are left out (they end up as alternate links in the final list).
+     */
+    @FunctionalInterface
+    public interface BatchListener {
+        void onBatch(String source, List<NormalizedJob> fresh);
+    }
+
+    private static final BatchListener NO_LISTENER = (source, fresh) -> { };
+
+    /**
+     * Streaming variant of {@link #fetchMerged}: hands every source's jobs to {@code listener}
+     * as that source completes, so the first results arrive in the time of the fastest source.
+     * A miss goes through the cache's single-flight like {@link #fetchMerged}: a caller arriving
+     * while the search is already being fetched joins that fan-out, getting its earlier batches
+     * replayed first. A cache hit (in-process or shared), or a load that could not be joined, is
+     * delivered as a single batch from source "cache".
+     */
+    public MergedJobs stream(String jobTitle, String location, boolean remoteOnly, BatchListener listener) {
+        CanonicalQuery q = canonical(jobTitle, location, remoteOnly);
+        popularity.record(q.key(), q.title(), q.location(), remoteOnly);
+        Optional<MergedJobs> hit = cache.get(q.key()); // a stale hit is refreshed in the background
+        if (hit.isPresent()) {
+            listener.onBatch("cache", hit.get().getItems());
+            return hit.get();
+        }
+
+        // registered before the load starts, so if we end up running it ourselves we see every batch
+        LiveLoad live = liveLoads.computeIfAbsent(q.key(), k -> new LiveLoad());
+        live.subscribe(listener);
+        MergedJobs merged;
+        boolean fed;
+        try {
+            merged = cached(q);
+        } finally {
+            fed = live.unsubscribe(listener);
+            if (live.unused()) liveLoads.remove(q.key(), live);
         }
+        if (!fed) listener.onBatch("cache", merged.getItems());
         return merged;
     }
 
+    /**
+     * Fetches a search into the cache on the calling thread, for the cache warmer. Not counted as a
+     * user access.
+     *
+     * @return false if a load of the same search was already running
+     */
+    public boolean warm(String jobTitle, String location, boolean remoteOnly) {
+        CanonicalQuery q = canonical(jobTitle, location, remoteOnly);
+        return cache.reload(q.key(), () -> load(q));
+    }
+
+    /** Milliseconds until the cached search goes stale (negative once it is), empty if not cached. */
+    public OptionalLong untilStaleMs(String jobTitle, String location, boolean remoteOnly) {
+        return cache.untilRefresh(canonical(jobTitle, location, remoteOnly).key());
+    }
+
+    /**
+     * L1 loader: the shared tier if another node has a newer copy of this search than ours, otherwise
+     * a fan-out we then share.
+     * When we still hold an earlier complete result (a refresh), sources are only asked for what is
+     * newer than their high-water mark in it and the new jobs are merged into it; every
+     * {@code fullRefreshMinutes} a full fetch replaces it instead.
+     */
+    private MergedJobs load(CanonicalQuery q) {
+        MergedJobs held = cache.peek(q.key()).orElse(null);
+        MergedJobs prev = props.isIncremental() ? held : null;
+        if (prev != null && (prev.isPartial()
+                || System.currentTimeMillis() - prev.getFullFetchAtMs() > props.getFullRefreshMinutes() * 60_000L)) {
+            prev = null;
+        }
+        // streaming callers can join full loads only: an incremental round just delivers what is new
+        LiveLoad live = prev == null ? liveLoads.computeIfAbsent(q.key(), k -> new LiveLoad()) : null;
+        if (live != null) live.start();
+        try {
+            return load(q, held == null ? 0 : held.getFetchedAtMs(), prev, live);
+        } finally {
+            if (live != null) {
+                live.finish();
+                liveLoads.remove(q.key(), live);
+            }
+        }
+    }
+
+    // heldSinceMs: fetch time of the copy being refreshed; a shared row no newer than that would go stale at once
+    private MergedJobs load(CanonicalQuery q, long heldSinceMs, MergedJobs prev, LiveLoad live) {
+        Optional<MergedJobs> fromShared = shared.get(q.key()).filter(m -> m.getFetchedAtMs() > heldSinceMs);
+        if (fromShared.isPresent()) {
+            if (live != null) live.onBatch("cache", fromShared.get().getItems());
+            return fromShared.get();
+        }
+
+        Map<String, String> descriptions = new HashMap<>();
+        MergedJobs merged = fanOut(q.title(), q.location(), q.remoteOnly(), live != null ? live : NO_LISTENER,
+                prev, descriptions);
+        if (prev == null) {
+            publish(q, merged, descriptions);
+            return merged;
+        }
+        Set<NormalizedJob> had = new HashSet<>(prev.getItems());
+        long added = merged.getItems().stream().filter(j -> !had.contains(j)).count();
+        System.out.printf("[Orchestrator] incremental refresh of '%s': %d new%n", q.key(), added);
+        publish(q, merged, descriptions);
+        return merged;
+    }
+
+    // A fresh fan-out goes to the shared tier, and the whole merged list to every sink (job store, text
+    // index), incremental rounds included: the sinks' last-seen times are what keep a search's jobs live.
+    // A partial one goes nowhere (like the shared tier): the store would answer from it for maxAgeMinutes,
+    // hiding the missing source's jobs, while here it is only kept for partialTtlSeconds.
+    private void publish(CanonicalQuery q, MergedJobs merged, Map<String, String> descriptions) {
+        shared.put(q.key(), merged);
+        if (merged.getItems().isEmpty() || merged.isPartial()) return;
+        for (JobSinkPort sink : sinks) {
+            try {
+                sink.accept(q.key(), merged.getItems(), descriptions);
+            } catch (RuntimeException e) {
+                System.out.printf("[Orchestrator] sink failed for %s: %s%n", q.key(), e.getMessage());
+            }
+        }
+    }
+
+    // prev != null: incremental round on top of that earlier result (see load);
+    // descriptions collects job id -> description of the jobs fetched in this round
+    private MergedJobs fanOut(String jobTitle, String location, boolean remoteOnly, BatchListener listener,
+                              MergedJobs prev, Map<String, String> descriptions) {
+        JobDeduplicator.Round seen = dedup.newRound(); // incremental (near-)de-dup, in arrival order
+        Set<String> timedOut = new LinkedHashSet<>();
+        Set<String> failed = new LinkedHashSet<>();
+        // what we had goes first: new copies of it are folded in (also keeps the jobs of sources that fail this round)
+        if (prev != null) seen.offerAll(prev.getItems());
+
+        if (props.isParallel()) {
+            Map<String, Since> since = prev == null ? Map.of() : highWaterMarks(prev);
+            fetchParallel(jobTitle, location, remoteOnly, since, seen, descriptions, listener, timedOut, failed);
+        } else {
+            fetchSequential(jobTitle, location, remoteOnly, seen, descriptions, listener, timedOut, failed);
+        }
+        if (seen.folded() > 0) {
+            System.out.printf("[Orchestrator] folded %d near-duplicate jobs for (%s, %s)%n", seen.folded(), jobTitle, location);
+        }
+
+        // ---- sort (desc by postedAt) ----
+        List<NormalizedJob> items = seen.jobs().stream()
+                .sorted(Comparator.comparingLong(NormalizedJob::getPostedAtMs).reversed()) // undated (NO_DATE) last
+                .limit(MAX_CACHE_ITEMS) // cap what we store to avoid huge memory
+                .toList();
+        // the snapshot is what /jobs filters on; building it here also dedupes repeated strings for the cache
+        return new MergedJobs(JobSnapshot.of(items), timedOut, failed,
+                prev == null ? System.currentTimeMillis() : prev.getFullFetchAtMs());
+    }
+
+    // Per source: newest posting date and the apply URLs we already hold for this search.
+    private static Map<String, Since> highWaterMarks(MergedJobs prev) {
+        Map<String, Long> newest = new HashMap<>();
+        Map<String, Set<String>> urls = new HashMap<>();
+        for (NormalizedJob j : prev.getItems()) {
+            if (j.getSource() == null) continue;
+            urls.computeIfAbsent(j.getSource(), k -> new HashSet<>()).add(j.getApplyUrl());
+            // folded copies from other sources are held too, under their own source
+            for (ApplyLink alt : j.getAlternates()) {
+                if (alt.source() != null) urls.computeIfAbsent(alt.source(), k -> new HashSet<>()).add(alt.applyUrl());
+            }
+            if (j.hasPostedAt()) newest.merge(j.getSource(), j.getPostedAtMs(), Math::max);
+        }
+        Map<String, Since> marks = new HashMap<>();
+        urls.forEach((src, known) -> {
+            Long ms = newest.get(src);
+            marks.put(src, new Since(ms == null ? null : Instant.ofEpochMilli(ms), Set.copyOf(known)));
+        });
+        return marks;
+    }
+
+    // Normalize one source's results, keep the ones not seen yet and pass them on.
+    private void accept(String source, List<RawJob> part, JobDeduplicator.Round seen, Map<String, String> descriptions,
+                        BatchListener listener) {
+        List<NormalizedJob> fresh = new ArrayList<>();
+        if (part != null) {
+            for (RawJob r : part) {
+                NormalizedJob n = normalize(r);
+                if (!seen.offer(n)) continue;
+                fresh.add(n);
+                String d = r.getDescription();
+                if (d != null && !d.isBlank()) {
+                    descriptions.put(n.getId(), d.length() > MAX_DESCRIPTION_CHARS ? d.substring(0, MAX_DESCRIPTION_CHARS) : d);
+                }
+            }
+        }
+        listener.onBatch(source, fresh);
+    }
+
+    // One source after the other, each within its own deadline. Goes through fetchAsync: the blocking
+    // fetch turns upstream errors into an empty list, which the breaker would count as a success.
+    private void fetchSequential(String jobTitle, String location, boolean remoteOnly,
+                                 JobDeduplicator.Round seen, Map<String, String> descriptions,
+                                 BatchListener listener, Set<String> timedOut, Set<String> failed) {
+        for (JobFetchPort a : adapters) {
+            SourceGuard guard = resilience.guard(a.sourceKey());
+            if (!guard.tryAcquire()) {
+                System.out.printf("[Orchestrator] %s skipped: circuit open%n", a.sourceKey());
+                failed.add(a.sourceKey());
+                continue;
+            }
+            long budget = guard.timeoutMs(props.timeoutFor(a.sourceKey()));
+            CallTiming timing = new CallTiming();
+            CompletableFuture<List<RawJob>> f;
+            try {
+                // Ask each adapter for up to MAX_CACHE_ITEMS; adapter may page internally
+                f = a.fetchSinceAsync(jobTitle, location, remoteOnly, MAX_CACHE_ITEMS, null, Deadline.in(budget),
+                        timing.wrap(fanOutExecutor));
+            } catch (RejectedExecutionException e) {
+                guard.onIgnored();
+                System.out.printf("[Orchestrator] %s rejected: fan-out pool saturated%n", a.sourceKey());
+                failed.add(a.sourceKey());
+                continue;
+            }
+            f.whenComplete((r, e) -> timing.finished());
+            try {
+                List<RawJob> part = f.get(budget, TimeUnit.MILLISECONDS);
+                succeeded(guard, f, timing.elapsedMs());
+                System.out.printf("[Orchestrator] %s returned %d items in %d ms%n",
+                        a.sourceKey(), part == null ? 0 : part.size(), timing.elapsedMs());
+                accept(a.sourceKey(), part, seen, descriptions, listener);
+            } catch (TimeoutException e) {
+                f.cancel(true);
+                guard.onFailure(props.timeoutFor(a.sourceKey()));
+                System.out.printf("[Orchestrator] %s timed out after %d ms%n", a.sourceKey(), budget);
+                timedOut.add(a.sourceKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                f.cancel(true);
+                guard.onIgnored();
+                failed.add(a.sourceKey());
+                return;
+            } catch (ExecutionException | CancellationException e) {
+                guard.onFailure(timing.elapsedMs());
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                System.out.printf("[Orchestrator] %s error: %s%n", a.sourceKey(), cause.getMessage());
+                failed.add(a.sourceKey());
+            }
+        }
+    }
+
+    /**
+     * Starts every adapter's async fetch at once and handles them in completion order. Each source
+     * gets its own deadline measured from the common start, so the total wait is bounded by the
+     * slowest source within budget rather than the sum of all of them. Adapters with a native async
+     * client hold no thread while waiting on the network; the fan-out pool only backs adapters that
+     * fall back to the blocking fetch.
+     */
+    private void fetchParallel(String jobTitle, String location, boolean remoteOnly, Map<String, Since> since,
+                               JobDeduplicator.Round seen, Map<String, String> descriptions,
+                               BatchListener listener, Set<String> timedOut, Set<String> failed) {
+        long start = System.nanoTime();
+        BlockingQueue<CompletableFuture<List<RawJob>>> done = new LinkedBlockingQueue<>();
+        Map<CompletableFuture<List<RawJob>>, JobFetchPort> pending = new HashMap<>();
+        Map<JobFetchPort, Long> budgetMs = new HashMap<>();
+        Map<JobFetchPort, CallTiming> timings = new HashMap<>();
+        for (JobFetchPort a : adapters) {
+            SourceGuard guard = resilience.guard(a.sourceKey());
+            if (!guard.tryAcquire()) {
+                System.out.printf("[Orchestrator] %s skipped: circuit open%n", a.sourceKey());
+                failed.add(a.sourceKey());
+                continue;
+            }
+            try {
+                CallTiming timing = new CallTiming();
+                // adaptive (p99 + margin) but never above the configured per-source deadline
+                long budget = guard.timeoutMs(props.timeoutFor(a.sourceKey()));
+                Deadline deadline = Deadline.at(start + TimeUnit.MILLISECONDS.toNanos(budget));
+                // sources without jobs in the earlier result get a full fetch
+                CompletableFuture<List<RawJob>> f = a.fetchSinceAsync(jobTitle, location, remoteOnly, MAX_CACHE_ITEMS,
+                        since.get(a.sourceKey()), deadline, timing.wrap(fanOutExecutor));
+                pending.put(f, a);
+                timings.put(a, timing);
+                budgetMs.put(a, budget);
+                f.whenComplete((r, e) -> {
+                    timing.finished();
+                    done.add(f);
+                });
+            } catch (RejectedExecutionException e) {
+                guard.onIgnored();
+                System.out.printf("[Orchestrator] %s rejected: fan-out pool saturated%n", a.sourceKey());
+                failed.add(a.sourceKey());
+            }
+        }
+
+        while (!pending.isEmpty()) {
+            long nextDeadline = pending.values().stream()
+                    .mapToLong(a -> start + TimeUnit.MILLISECONDS.toNanos(budgetMs.get(a)))
+                    .min().getAsLong();
+            CompletableFuture<List<RawJob>> f;
+            try {
+                f = done.poll(Math.max(0, nextDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                pending.forEach((fut, a) -> {
+                    fut.cancel(true);
+                    resilience.guard(a.sourceKey()).onIgnored();
+                    failed.add(a.sourceKey());
+                });
+                return;
+            }
+
+            if (f == null) {
+                // drop every source whose deadline has passed
+                long now = System.nanoTime();
+                pending.entrySet().removeIf(e -> {
+                    JobFetchPort a = e.getValue();
+                    long budget = budgetMs.get(a);
+                    if (start + TimeUnit.MILLISECONDS.toNanos(budget) - now > 0) return false;
+                    e.getKey().cancel(true); // adapters abort their outstanding requests
+                    // counted at the configured ceiling: if the adaptive cut was too tight, p99 widens again at once
+                    resilience.guard(a.sourceKey()).onFailure(props.timeoutFor(a.sourceKey()));
+                    System.out.printf("[Orchestrator] %s timed out after %d ms%n", a.sourceKey(), budget);
+                    timedOut.add(a.sourceKey());
+                    return true;
+                });
+                continue;
+            }
+
+            JobFetchPort a = pending.remove(f);
+            if (a == null) continue; // already timed out and cancelled
+            // the call's own latency, not counting time queued for the pool or spent on other sources' results
+            long elapsedMs = timings.get(a).elapsedMs();
+            SourceGuard guard = resilience.guard(a.sourceKey());
+            try {
+                List<RawJob> part = f.join();
+                succeeded(guard, f, elapsedMs);
+                System.out.printf("[Orchestrator] %s returned %d items in %d ms%n", a.sourceKey(),
+                        part == null ? 0 : part.size(), elapsedMs);
+                accept(a.sourceKey(), part, seen, descriptions, listener);
+            } catch (CompletionException | CancellationException ex) {
+                guard.onFailure(elapsedMs);
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                System.out.printf("[Orchestrator] %s error: %s%n", a.sourceKey(), cause.getMessage());
+                failed.add(a.sourceKey());
+            }
+        }
+    }
+
+    // a cached / mirrored answer took ~0 ms without touching the source: it would drag the adaptive timeout down
+    private static void succeeded(SourceGuard guard, CompletableFuture<List<RawJob>> f, long elapsedMs) {
+        if (JobFetchPort.isAnsweredLocally(f)) guard.onAnsweredLocally();
+        else guard.onSuccess(elapsedMs);
+    }
+
+    /** When one source call really started (not when it was queued) and when it completed. */
+    private static final class CallTiming {
+        private final long invokedAt = System.nanoTime();
+        private final AtomicLong startedAt = new AtomicLong();
+        private volatile long finishedAt;
+
+        // adapters falling back to the blocking fetch run on the pool: they start when a thread picks them up
+        Executor wrap(Executor pool) {
+            return r -> pool.execute(() -> {
+                startedAt.compareAndSet(0, System.nanoTime());
+                r.run();
+            });
+        }
+
+        void finished() { finishedAt = System.nanoTime(); }
+
+        long elapsedMs() {
+            long from = startedAt.get() != 0 ? startedAt.get() : invokedAt;
+            long to = finishedAt != 0 ? finishedAt : System.nanoTime();
+            return TimeUnit.NANOSECONDS.toMillis(Math.max(0, to - from));
+        }
+    }
+
+    /**
+     * The batches of one running full fan-out and the streaming callers following it. A caller that
+     * subscribes late gets the batches so far replayed, then the rest as they arrive.
+     */
+    private static final class LiveLoad implements BatchListener {
+        private final List<Map.Entry<String, List<NormalizedJob>>> batches = new ArrayList<>();
+        private final List<BatchListener> listeners = new ArrayList<>();
+        private boolean started;
+        private boolean finished;
+
+        synchronized void subscribe(BatchListener l) {
+            if (finished) return;
+            for (Map.Entry<String, List<NormalizedJob>> b : batches) deliver(l, b.getKey(), b.getValue());
+            listeners.add(l);
+        }
+
+        /** @return true if {@code l} was following when the load finished, i.e. it got every batch */
+        synchronized boolean unsubscribe(BatchListener l) {
+            return listeners.remove(l) && finished;
+        }
+
+        /** Nobody follows it and no load has picked it up (e.g. the caller got a cache hit after all). */
+        synchronized boolean unused() { return !started && listeners.isEmpty(); }
+
+        synchronized void start() { started = true; }
+
+        synchronized void finish() { finished = true; }
+
+        @Override
+        public synchronized void onBatch(String source, List<NormalizedJob> fresh) {
+            batches.add(Map.entry(source, fresh));
+            for (BatchListener l : listeners) deliver(l, source, fresh);
+        }
+
+        private static void deliver(BatchListener l, String source, List<NormalizedJob> fresh) {
+            try {
+                l.onBatch(source, fresh);
+            } catch (RuntimeException e) {
+                // a broken listener (e.g. disconnected client) must not break the fetch itself
+                System.out.printf("[Orchestrator] listener failed for %s: %s%n", source, e.getMessage());
+            }
+        }
+    }
+
+    /** Breaker state and latency percentiles per source. */
+    public List<SourceHealth> sourceHealth() {
+        return resilience.health(adapters.stream().map(JobFetchPort::sourceKey).toList(), props::timeoutFor);
+    }
+
+    public CacheStats cacheStats() { return cache.stats(); }
+
     // ---- Helpers ----
 
     private NormalizedJob normalize(RawJob r) {
@@ -112,7 +629,7 @@ public class SourceOrchestrator {
                 r.getLocation(),
                 r.getSource(),
                 r.getApplyUrl(),
-                r.getPostedAt()
+                r.postedAtMs() // parsed at most once per raw job (Since.covers may have done it)
         );
     }
 
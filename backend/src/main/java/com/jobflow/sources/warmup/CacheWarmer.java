@@ -0,0 +1,154 @@
+package com.jobflow.sources.warmup;
+
+import com.jobflow.sources.model.PopularQuery;
+import com.jobflow.sources.repo.PopularQueryRepository;
+import com.jobflow.sources.service.SourceOrchestrator;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the most popular searches in the orchestrator cache. Every tick it takes the top keys from
+ * {@link PopularityTracker} and re-fetches those that are missing or about to go stale, spending at
+ * most {@code maxFetchesPerTick} fan-outs. Popularity is saved to {@code popular_query} periodically
+ * and on shutdown, and read back on startup: once the application is ready, the hottest searches are
+ * warmed in the background under the same per-tick budget (requests may arrive before that is done).
+ */
+@Component
+public class CacheWarmer {
+
+    private final WarmerProperties props;
+    private final PopularityTracker popularity;
+    private final SourceOrchestrator orchestrator;
+    private final PopularQueryRepository repo;
+    private final AtomicBoolean running = new AtomicBoolean();
+    // startup keys the first pass had no budget for; later ticks warm them even below minScore
+    private volatile List<HotQuery> startupBacklog = List.of();
+    // warm-ups take up to a whole fan-out each; keep them off the shared scheduler thread
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cache-warmer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public CacheWarmer(WarmerProperties props, PopularityTracker popularity,
+                       SourceOrchestrator orchestrator, PopularQueryRepository repo) {
+        this.props = props;
+        this.popularity = popularity;
+        this.orchestrator = orchestrator;
+        this.repo = repo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnStartup() {
+        if (!props.isEnabled()) return;
+        int loaded = 0;
+        try {
+            for (PopularQuery q : repo.findByOrderByScoreDesc(PageRequest.of(0, Math.max(1, props.getPersistTopKeys())))) {
+                popularity.seed(q.getKey(), q.getTitle(), q.getLocation(), q.isRemoteOnly(),
+                        q.getScore(), q.getUpdatedAt().toEpochMilli());
+                loaded++;
+            }
+        } catch (RuntimeException e) {
+            System.out.println("[CacheWarmer] could not load popularity stats: " + e.getMessage());
+        }
+        // no minimum score here: whatever was popular before the restart is the best guess we have
+        List<HotQuery> hot = popularity.top(props.getStartupKeys(), 0);
+        // same budget as a tick: a restart must not burst rate-limited sources; later ticks warm the rest
+        int budget = Math.min(hot.size(), props.getMaxFetchesPerTick());
+        startupBacklog = List.copyOf(hot.subList(budget, hot.size()));
+        System.out.printf("[CacheWarmer] loaded %d popular searches, warming %d of %d now%n", loaded, budget, hot.size());
+        submit(() -> warm(hot, budget));
+    }
+
+    @Scheduled(fixedDelayString = "${sources.warmer.tick-ms:30000}", initialDelayString = "${sources.warmer.tick-ms:30000}")
+    public void tick() {
+        if (!props.isEnabled()) return;
+        List<HotQuery> due = new ArrayList<>(popularity.top(props.getTopKeys(), props.getMinScore()).stream()
+                .filter(this::isDue)
+                .toList());
+        if (!startupBacklog.isEmpty()) {
+            startupBacklog = startupBacklog.stream().filter(this::isDue).toList();
+            for (HotQuery q : startupBacklog) {
+                if (due.stream().noneMatch(d -> d.key().equals(q.key()))) due.add(q);
+            }
+        }
+        if (!due.isEmpty()) submit(() -> warm(due, props.getMaxFetchesPerTick()));
+    }
+
+    // missing from the cache, or about to go stale
+    private boolean isDue(HotQuery q) {
+        OptionalLong left = orchestrator.untilStaleMs(q.title(), q.location(), q.remoteOnly());
+        return left.isEmpty() || left.getAsLong() <= props.getLeadSeconds() * 1000L;
+    }
+
+    @Scheduled(fixedDelayString = "${sources.warmer.persist-interval-ms:300000}", initialDelayString = "${sources.warmer.persist-interval-ms:300000}")
+    public void persist() {
+        if (!props.isEnabled() || popularity.size() == 0) return;
+        Instant now = Instant.now();
+        try {
+            List<PopularQuery> rows = popularity.top(props.getPersistTopKeys(), 0.01).stream()
+                    .map(q -> new PopularQuery(q.key(), q.title(), q.location(), q.remoteOnly(), q.score(), now))
+                    .toList();
+            repo.saveAll(rows);
+            long dropped = repo.deleteByUpdatedAtBefore(now.minus(Duration.ofDays(props.getRetentionDays())));
+            System.out.printf("[CacheWarmer] saved %d popular searches (%d expired)%n", rows.size(), dropped);
+        } catch (RuntimeException e) {
+            System.out.println("[CacheWarmer] could not save popularity stats: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+        persist();
+    }
+
+    // Hottest first, so if the budget runs out it is the least popular keys that wait a tick.
+    private void warm(List<HotQuery> queries, int budget) {
+        int fetched = 0;
+        long start = System.currentTimeMillis();
+        for (HotQuery q : queries) {
+            if (fetched >= budget || Thread.currentThread().isInterrupted()) break;
+            try {
+                if (orchestrator.warm(q.title(), q.location(), q.remoteOnly())) fetched++;
+            } catch (RuntimeException e) {
+                fetched++; // a failed fan-out still cost upstream calls
+                System.out.printf("[CacheWarmer] warming %s failed: %s%n", q.key(), e.getMessage());
+            }
+        }
+        if (fetched > 0) {
+            System.out.printf("[CacheWarmer] warmed %d of %d searches in %d ms%n",
+                    fetched, queries.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    // One warm-up pass at a time; a tick that finds the previous pass still running is skipped.
+    private void submit(Runnable pass) {
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            worker.execute(() -> {
+                try {
+                    pass.run();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.jobflow.sources.warmup;
+
+/** A tracked search and its decayed hit count as of when it was read. */
+public record HotQuery(String key, String title, String location, boolean remoteOnly, double score) { }
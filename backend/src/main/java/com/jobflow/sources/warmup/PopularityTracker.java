@@ -0,0 +1,110 @@
+package com.jobflow.sources.warmup;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exponentially decaying hit counter per search key. Each hit adds 1 to a score that halves every
+ * {@code halfLifeMinutes}, so a query asked 100 times yesterday ranks below one asked 10 times in
+ * the last hour. Only the score and the time it was last brought up to date are stored per key.
+ */
+@Component
+public class PopularityTracker {
+
+    private final WarmerProperties props;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public PopularityTracker(WarmerProperties props) {
+        this.props = props;
+    }
+
+    public void record(String key, String title, String location, boolean remoteOnly) {
+        if (!props.isEnabled()) return;
+        long now = System.currentTimeMillis();
+        counters.computeIfAbsent(key, k -> new Counter(title, location, remoteOnly)).add(1, now, halfLifeMs());
+        if (counters.size() > props.getMaxTracked()) prune(now);
+    }
+
+    /** Seeds a key with a score observed at {@code atMs} (e.g. loaded from the database). */
+    public void seed(String key, String title, String location, boolean remoteOnly, double score, long atMs) {
+        counters.computeIfAbsent(key, k -> new Counter(title, location, remoteOnly)).add(score, atMs, halfLifeMs());
+    }
+
+    /** The {@code n} highest scoring keys at or above {@code minScore}, best first. */
+    public List<HotQuery> top(int n, double minScore) {
+        long now = System.currentTimeMillis();
+        long halfLife = halfLifeMs();
+        return counters.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey(), now, halfLife))
+                .filter(q -> q.score() >= minScore)
+                .sorted(Comparator.comparingDouble(HotQuery::score).reversed())
+                .limit(Math.max(0, n))
+                .toList();
+    }
+
+    public int size() { return counters.size(); }
+
+    // Drop keys that have decayed to nothing, then the coldest until we are back to 90% of the bound.
+    private synchronized void prune(long now) {
+        int bound = props.getMaxTracked();
+        if (counters.size() <= bound) return;
+        long halfLife = halfLifeMs();
+        counters.values().removeIf(c -> c.score(now, halfLife) < 0.01);
+        int excess = counters.size() - bound * 9 / 10;
+        if (excess <= 0) return;
+        counters.entrySet().stream()
+                .sorted(Comparator.comparingDouble(e -> e.getValue().score(now, halfLife)))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(counters::remove);
+    }
+
+    private long halfLifeMs() {
+        return Math.max(1, props.getHalfLifeMinutes()) * 60_000L;
+    }
+
+    private static final class Counter {
+        final String title;
+        final String location;
+        final boolean remoteOnly;
+        // guarded by this
+        private double score;
+        private long atMs;
+
+        Counter(String title, String location, boolean remoteOnly) {
+            this.title = title;
+            this.location = location;
+            this.remoteOnly = remoteOnly;
+        }
+
+        synchronized void add(double amount, long whenMs, long halfLifeMs) {
+            if (atMs == 0) {
+                score = amount;
+                atMs = whenMs;
+            } else if (whenMs >= atMs) {
+                score = score(whenMs, halfLifeMs) + amount;
+                atMs = whenMs;
+            } else {
+                // an older observation (seeded after live hits): decay it forward instead
+                score += amount * decay(atMs - whenMs, halfLifeMs);
+            }
+        }
+
+        synchronized double score(long now, long halfLifeMs) {
+            return score * decay(now - atMs, halfLifeMs);
+        }
+
+        HotQuery snapshot(String key, long now, long halfLifeMs) {
+            return new HotQuery(key, title, location, remoteOnly, score(now, halfLifeMs));
+        }
+
+        private static double decay(long elapsedMs, long halfLifeMs) {
+            return elapsedMs <= 0 ? 1 : Math.pow(0.5, (double) elapsedMs / halfLifeMs);
+        }
+    }
+}
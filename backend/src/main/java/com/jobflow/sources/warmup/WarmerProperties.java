@@ -0,0 +1,55 @@
+package com.jobflow.sources.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "sources.warmer")
+public class WarmerProperties {
+    /** Track query popularity and keep the hottest searches cached */
+    private boolean enabled = true;
+
+    /** Popularity halves after this long without new hits */
+    private int halfLifeMinutes = 60;
+
+    /** How many of the most popular searches are kept warm */
+    private int topKeys = 20;
+
+    /** Decayed hit count a search needs before it is worth warming */
+    private double minScore = 2.0;
+
+    /** Refresh a hot search this long before it goes stale (or at once if it is not cached) */
+    private int leadSeconds = 120;
+
+    /** Upstream budget: at most this many fan-outs per warm-up tick */
+    private int maxFetchesPerTick = 3;
+
+    /** Popularity entries kept in memory; the coldest are dropped beyond this */
+    private int maxTracked = 5000;
+
+    /** How many of the top searches are written to the database / warmed after a restart */
+    private int persistTopKeys = 200;
+    private int startupKeys = 20;
+
+    /** Persisted rows not updated for this long are deleted */
+    private int retentionDays = 7;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getHalfLifeMinutes() { return halfLifeMinutes; }
+    public void setHalfLifeMinutes(int halfLifeMinutes) { this.halfLifeMinutes = halfLifeMinutes; }
+    public int getTopKeys() { return topKeys; }
+    public void setTopKeys(int topKeys) { this.topKeys = topKeys; }
+    public double getMinScore() { return minScore; }
+    public void setMinScore(double minScore) { this.minScore = minScore; }
+    public int getLeadSeconds() { return leadSeconds; }
+    public void setLeadSeconds(int leadSeconds) { this.leadSeconds = leadSeconds; }
+    public int getMaxFetchesPerTick() { return maxFetchesPerTick; }
+    public void setMaxFetchesPerTick(int maxFetchesPerTick) { this.maxFetchesPerTick = maxFetchesPerTick; }
+    public int getMaxTracked() { return maxTracked; }
+    public void setMaxTracked(int maxTracked) { this.maxTracked = maxTracked; }
+    public int getPersistTopKeys() { return persistTopKeys; }
+    public void setPersistTopKeys(int persistTopKeys) { this.persistTopKeys = persistTopKeys; }
+    public int getStartupKeys() { return startupKeys; }
+    public void setStartupKeys(int startupKeys) { this.startupKeys = startupKeys; }
+    public int getRetentionDays() { return retentionDays; }
+    public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
+}
@@ -0,0 +1,140 @@
+package com.jobflow.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimpleCacheTest {
+
+    @Test
+    void concurrentHitsAreAllCounted() throws Exception {
+        SimpleCache<String, String> cache = new SimpleCache<>(Duration.ofMinutes(5), 100);
+        for (int i = 0; i < 10; i++) cache.put("k" + i, "v" + i);
+
+        int threads = 8, reads = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            done.add(pool.submit(() -> {
+                go.await();
+                for (int i = 0; i < reads; i++) {
+                    String k = "k" + (i % 10);
+                    assertEquals("v" + (i % 10), cache.get(k).orElseThrow());
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> f : done) f.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        CacheStats stats = cache.stats();
+        assertEquals((long) threads * reads, stats.hits());
+        assertEquals(0, stats.misses());
+        assertEquals(10, stats.entries());
+        cache.close();
+    }
+
+    @Test
+    void evictsLeastRecentlyReadEntry() {
+        SimpleCache<String, String> cache = new SimpleCache<>(Duration.ofMinutes(5), 2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a"); // buffered read: "b" is now least recently used
+
+        cache.put("c", "3");
+
+        assertTrue(cache.peek("a").isPresent());
+        assertFalse(cache.peek("b").isPresent());
+        assertTrue(cache.peek("c").isPresent());
+        assertEquals(1, cache.stats().evictions());
+        cache.close();
+    }
+
+    @Test
+    void readsWhileEvictingKeepTheBounds() throws Exception {
+        SimpleCache<Integer, Integer> cache = new SimpleCache<>(Duration.ofMinutes(5), 50);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            done.add(pool.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    int k = (i * 7 + offset) % 200;
+                    cache.getOrCompute(k, () -> k);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : done) f.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        CacheStats stats = cache.stats();
+        assertTrue(stats.entries() <= 50, "entries " + stats.entries());
+        assertTrue(stats.weight() <= 50, "weight " + stats.weight());
+        cache.close();
+    }
+
+    @Test
+    void shortLivedValuesGoStaleEarly() {
+        SimpleCache<String, String> cache = SimpleCache.<String, String>builder(Duration.ofMinutes(30))
+                .refreshAfter(Duration.ofMinutes(10))
+                .shortLived(v -> v.startsWith("partial"), Duration.ofSeconds(60))
+                .build();
+        cache.put("full", "complete");
+        cache.put("part", "partial list");
+
+        assertTrue(cache.untilRefresh("full").getAsLong() > Duration.ofMinutes(9).toMillis());
+        assertTrue(cache.untilRefresh("part").getAsLong() <= Duration.ofSeconds(60).toMillis());
+        cache.close();
+    }
+
+    @Test
+    void ttlCountsFromWhenTheValueWasFetched() {
+        long eightMinutesAgo = System.currentTimeMillis() - Duration.ofMinutes(8).toMillis();
+        SimpleCache<String, Long> cache = SimpleCache.<String, Long>builder(Duration.ofMinutes(30))
+                .refreshAfter(Duration.ofMinutes(10))
+                .loadedAt(v -> v)
+                .build();
+        cache.put("copied", eightMinutesAgo);
+        cache.put("fresh", System.currentTimeMillis() + 60_000); // never younger than the store
+
+        long left = cache.untilRefresh("copied").getAsLong();
+        assertTrue(left <= Duration.ofMinutes(2).toMillis() && left > 0, "left " + left);
+        assertTrue(cache.untilRefresh("fresh").getAsLong() <= Duration.ofMinutes(10).toMillis());
+        cache.close();
+    }
+
+    @Test
+    void staleGetReloadsInTheBackground() throws Exception {
+        SimpleCache<String, Long> cache = SimpleCache.<String, Long>builder(Duration.ofMinutes(30))
+                .refreshAfter(Duration.ofMinutes(10))
+                .loadedAt(v -> v)
+                .build();
+        long elevenMinutesAgo = System.currentTimeMillis() - Duration.ofMinutes(11).toMillis();
+        CountDownLatch reloaded = new CountDownLatch(1);
+        cache.put("k", elevenMinutesAgo, () -> {
+            reloaded.countDown();
+            return System.currentTimeMillis();
+        });
+
+        assertEquals(elevenMinutesAgo, cache.get("k").orElseThrow()); // stale value served at once
+        assertTrue(reloaded.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100 && cache.peek("k").orElseThrow() == elevenMinutesAgo; i++) Thread.sleep(10);
+        assertTrue(cache.peek("k").orElseThrow() > elevenMinutesAgo);
+        assertEquals(1, cache.stats().staleHits());
+        cache.close();
+    }
+}
@@ -0,0 +1,26 @@
+package com.jobflow.jobs.model;
+
+import com.jobflow.sources.model.ApplyLink;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ApplyLinksConverterTest {
+
+    private final ApplyLinksConverter converter = new ApplyLinksConverter();
+
+    @Test
+    void alternatesSurviveTheRoundTrip() {
+        List<ApplyLink> links = List.of(new ApplyLink("adzuna", "https://a/1"), new ApplyLink("naukri", "https://n/1"));
+        assertEquals(links, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(links)));
+    }
+
+    @Test
+    void noAlternatesIsStoredAsNull() {
+        assertNull(converter.convertToDatabaseColumn(List.of()));
+        assertEquals(List.of(), converter.convertToEntityAttribute(null));
+    }
+}
@@ -0,0 +1,60 @@
+package com.jobflow.jobs.search;
+
+import com.jobflow.sources.model.NormalizedJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JobTextIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private JobTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        SearchIndexProperties props = new SearchIndexProperties();
+        props.setPath(dir.toString());
+        index = new JobTextIndex(props);
+        index.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    private static NormalizedJob job(String id) {
+        return new NormalizedJob(id, "Java Developer", "Acme", "Pune", "fake", "https://x/" + id, 0L);
+    }
+
+    private Optional<Page<String>> search(String queryKey) {
+        return index.search(queryKey, Instant.EPOCH, "", false, null, null, null, "java", PageRequest.of(0, 10));
+    }
+
+    @Test
+    void jobDroppedByOneSearchStaysOutOfItEvenWhenAnotherReindexesIt() throws Exception {
+        index.accept("a", List.of(job("x"), job("y")), Map.of());
+        Thread.sleep(5);
+        index.accept("a", List.of(job("y")), Map.of()); // "a" no longer returns x
+        Thread.sleep(5);
+        index.accept("b", List.of(job("x")), Map.of());
+
+        // batches are indexed in order on one thread
+        for (int i = 0; i < 200 && search("b").isEmpty(); i++) Thread.sleep(10);
+        assertEquals(List.of("x"), search("b").orElseThrow().getContent());
+        assertEquals(List.of("y"), search("a").orElseThrow().getContent());
+    }
+}
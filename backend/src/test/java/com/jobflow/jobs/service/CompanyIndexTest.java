@@ -0,0 +1,50 @@
+package com.jobflow.jobs.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompanyIndexTest {
+
+    private static CompanyIndex loaded(String... companies) {
+        CompanyIndex index = new CompanyIndex();
+        index.retainOnly(List.of(companies));
+        index.markLoaded();
+        return index;
+    }
+
+    @Test
+    void findsCompaniesContainingTheNeedle() {
+        CompanyIndex index = loaded("acme corp", "acme labs", "globex");
+        assertEquals(Optional.of(Set.of("acme corp", "acme labs")), index.containing("ACME", 10));
+    }
+
+    @Test
+    void noMatchMeansTheIndexCannotAnswer() {
+        CompanyIndex index = loaded("acme corp", "globex");
+        assertTrue(index.containing("initech", 10).isEmpty()); // a trigram no company has
+        assertTrue(index.containing("corp acme", 10).isEmpty()); // every trigram known, no company contains it
+    }
+
+    @Test
+    void notLoadedShortNeedleOrTooManyMatchesCannotAnswer() {
+        assertTrue(new CompanyIndex().containing("acme", 10).isEmpty());
+        CompanyIndex index = loaded("acme corp", "acme labs");
+        assertTrue(index.containing("ac", 10).isEmpty());
+        assertTrue(index.containing("acme", 1).isEmpty());
+    }
+
+    @Test
+    void removedCompaniesAreNoLongerFound() {
+        CompanyIndex index = loaded("acme corp", "acme labs");
+        index.removeAll(List.of("acme labs"));
+        assertEquals(Optional.of(Set.of("acme corp")), index.containing("acme", 10));
+        index.addAll(List.of("acme labs"));
+        assertEquals(2, index.containing("acme", 10).orElseThrow().size());
+    }
+}
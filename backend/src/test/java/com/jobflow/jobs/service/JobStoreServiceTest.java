@@ -0,0 +1,103 @@
+package com.jobflow.jobs.service;
+
+import com.jobflow.jobs.model.JobQueryLink;
+import com.jobflow.jobs.model.StoredJob;
+import com.jobflow.jobs.repo.JobQueryLinkRepository;
+import com.jobflow.jobs.repo.StoredJobRepository;
+import com.jobflow.jobs.search.JobTextIndex;
+import com.jobflow.sources.model.NormalizedJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobStoreServiceTest {
+
+    private final StoredJobRepository jobs = mock(StoredJobRepository.class);
+    private final JobQueryLinkRepository links = mock(JobQueryLinkRepository.class);
+    private final TransactionTemplate tx = mock(TransactionTemplate.class);
+    private final JobStoreService store = new JobStoreService(new JobStoreProperties(), jobs, links, tx,
+            mock(JobTextIndex.class));
+    private final Page<StoredJob> byIndex = new PageImpl<>(List.of(StoredJob.firstSeen("a", Instant.now())));
+    private final Page<StoredJob> byLike = new PageImpl<>(List.of(StoredJob.firstSeen("b", Instant.now())));
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // "old" was ingested well before the index was loaded, "fresh" by another node just now
+        when(links.lastIngestedAt("old")).thenReturn(Instant.now().minus(Duration.ofMinutes(5)));
+        when(links.lastIngestedAt("fresh")).thenReturn(Instant.now().plusSeconds(1));
+        when(jobs.companyKeys()).thenReturn(List.of("acme corp"));
+        when(jobs.searchInCompanies(anyString(), any(), anyString(), anyBoolean(), any(), anyCollection(), any()))
+                .thenReturn(byIndex);
+        when(jobs.search(anyString(), any(), anyString(), anyBoolean(), any(), anyString(), any())).thenReturn(byLike);
+
+        store.loadCompanyIndex();
+        verify(jobs, timeout(2000)).companyKeys();
+        // the index is marked loaded right after; wait until a known company resolves through it
+        for (int i = 0; i < 200 && search("old", "acme") != byIndex; i++) Thread.sleep(10);
+        assertEquals(byIndex, search("old", "acme"));
+        clearInvocations(jobs);
+    }
+
+    private Page<StoredJob> search(String queryKey, String company) {
+        return store.search(queryKey, "all", null, company, null, 0, 10).orElseThrow();
+    }
+
+    @Test
+    void companyUnknownToThisNodeFallsBackToLike() {
+        // ingested by another node since our last sync: the index has no candidate, the database does
+        assertEquals(byLike, search("old", "initech"));
+        verify(jobs).search(eq("old"), any(), eq(""), eq(false), any(), eq("%initech%"), any());
+    }
+
+    @Test
+    void knownCompanyIsResolvedToExactKeysWhenTheIndexCoversTheIngest() {
+        assertEquals(byIndex, search("old", "acme"));
+        verify(jobs, never()).search(anyString(), any(), anyString(), anyBoolean(), any(), anyString(), any());
+    }
+
+    @Test
+    void knownKeyPlusAnUnsyncedMatchGoesToLike() {
+        // the index knows "acme corp"; "acme labs" came with another node's ingest after our sync
+        assertEquals(byLike, search("fresh", "acme"));
+        verify(jobs).search(eq("fresh"), any(), eq(""), eq(false), any(), eq("%acme%"), any());
+        verify(jobs, never()).searchInCompanies(anyString(), any(), anyString(), anyBoolean(), any(), anyCollection(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ourOwnIngestIsCoveredAtOnce() throws Exception {
+        when(tx.execute(any())).thenAnswer(inv -> ((TransactionCallback<Integer>) inv.getArgument(0)).doInTransaction(null));
+        store.accept("mine", List.of(new NormalizedJob("j1", "Java Developer", "Acme Labs", "Pune", "fake",
+                "https://x/1", 0L)), Map.of());
+
+        ArgumentCaptor<Iterable<JobQueryLink>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(links, timeout(2000)).saveAll(saved.capture());
+        Instant seenAt = saved.getValue().iterator().next().getLastSeenAt();
+        when(links.lastIngestedAt("mine")).thenReturn(seenAt);
+
+        for (int i = 0; i < 200 && search("mine", "acme") != byIndex; i++) Thread.sleep(10);
+        assertEquals(byIndex, search("mine", "acme"));
+    }
+}
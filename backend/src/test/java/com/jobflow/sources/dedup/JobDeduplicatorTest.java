@@ -0,0 +1,67 @@
+package com.jobflow.sources.dedup;
+
+import com.jobflow.sources.model.ApplyLink;
+import com.jobflow.sources.model.NormalizedJob;
+import com.jobflow.sources.query.QueryCanonicalizer;
+import com.jobflow.sources.query.QueryProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobDeduplicatorTest {
+
+    private final JobDeduplicator dedup =
+            new JobDeduplicator(new DedupProperties(), new QueryCanonicalizer(new QueryProperties()));
+
+    private static NormalizedJob job(String source, String url, String title) {
+        return new NormalizedJob(source + url, title, "Infosys Ltd", "Bengaluru, Karnataka", source, url, 0L);
+    }
+
+    @Test
+    void foldsTheSamePostingFromAnotherSource() {
+        JobDeduplicator.Round round = dedup.newRound();
+        assertTrue(round.offer(job("adzuna", "https://a/1", "Senior Java Developer")));
+        assertFalse(round.offer(job("naukri", "https://n/9", "Sr. Java Dev")));
+
+        List<NormalizedJob> jobs = round.jobs();
+        assertEquals(1, jobs.size());
+        assertEquals(List.of(new ApplyLink("naukri", "https://n/9")), jobs.get(0).getAlternates());
+        assertEquals(1, round.folded());
+    }
+
+    @Test
+    void keepsTwoPostingsOfOneSourceWithDifferentUrls() {
+        JobDeduplicator.Round round = dedup.newRound();
+        assertTrue(round.offer(job("naukri", "https://n/1", "Senior Java Developer")));
+        assertTrue(round.offer(job("naukri", "https://n/2", "Senior Java Developer")));
+
+        assertEquals(2, round.jobs().size());
+        assertEquals(0, round.folded());
+    }
+
+    @Test
+    void foldsARepostOfTheSameUrlWithinOneSource() {
+        JobDeduplicator.Round round = dedup.newRound();
+        assertTrue(round.offer(job("naukri", "https://n/1", "Senior Java Developer")));
+        assertFalse(round.offer(job("naukri", "https://n/1", "Senior Java Developers")));
+
+        List<NormalizedJob> jobs = round.jobs();
+        assertEquals(1, jobs.size());
+        assertTrue(jobs.get(0).getAlternates().isEmpty());
+    }
+
+    @Test
+    void doesNotFoldIntoAGroupHoldingAnotherUrlOfTheSameSource() {
+        JobDeduplicator.Round round = dedup.newRound();
+        round.offer(job("adzuna", "https://a/1", "Senior Java Developer"));
+        assertFalse(round.offer(job("naukri", "https://n/1", "Senior Java Developer")));
+        // a second naukri opening: adzuna's job already stands for naukri's first one
+        assertTrue(round.offer(job("naukri", "https://n/2", "Senior Java Developer")));
+
+        assertEquals(2, round.jobs().size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.jobflow.sources.http;
+
+import com.jobflow.sources.model.Deadline;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HostRateLimiterTest {
+
+    private static final RateLimit ONE_PER_SECOND = new RateLimit(1000, 1, 10);
+
+    @Test
+    void refusesASlotBeyondTheCallersDeadline() {
+        HostRateLimiter limiter = new HostRateLimiter();
+        assertTrue(limiter.acquire("h", ONE_PER_SECOND, 10_000).isDone()); // first token is free
+
+        // the request timeout would allow the ~1 s wait, the fan-out deadline does not
+        long maxWait = Deadline.in(200).remainingMs(10_000);
+        CompletableFuture<Void> late = limiter.acquire("h", ONE_PER_SECOND, maxWait);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> late.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RateLimitedException.class, e.getCause());
+    }
+
+    @Test
+    void refusedCallerDoesNotTakeTheSlot() throws Exception {
+        HostRateLimiter limiter = new HostRateLimiter();
+        limiter.acquire("h", ONE_PER_SECOND, 10_000);
+        assertTrue(limiter.acquire("h", ONE_PER_SECOND, 100).isCompletedExceptionally());
+
+        // the next caller gets the slot the refused one would have had (~1 s), not the one after
+        long start = System.nanoTime();
+        CompletableFuture<Void> next = limiter.acquire("h", ONE_PER_SECOND, 1_500);
+        assertFalse(next.isDone());
+        next.get(3, TimeUnit.SECONDS);
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(waitedMs < 1_500, "waited " + waitedMs + " ms");
+    }
+
+    @Test
+    void throttleWaitsNoLongerThanTheCallersDeadline() {
+        SourceHttpProperties props = new SourceHttpProperties();
+        props.setRequestTimeoutMs(10_000);
+        SourceHttp http = new SourceHttp(props);
+        try {
+            assertTrue(http.throttle("test", "https://example.org/a", ONE_PER_SECOND).isDone());
+            CompletableFuture<Void> late = http.throttle("test", "https://example.org/b", ONE_PER_SECOND, Deadline.in(200));
+            assertTrue(late.isCompletedExceptionally());
+            assertFalse(http.throttle("test", "https://example.org/c", ONE_PER_SECOND, Deadline.NONE).isDone());
+            assertEquals(1, http.stats().get(0).rateLimited());
+        } finally {
+            http.shutdown();
+        }
+    }
+
+    @Test
+    void deadlineCapsTheRequestTimeout() {
+        assertEquals(5_000, Deadline.NONE.remainingMs(5_000));
+        assertTrue(Deadline.in(300).remainingMs(5_000) <= 300);
+        assertEquals(0, Deadline.in(-50).remainingMs(5_000));
+        assertEquals(100, Deadline.in(60_000).remainingMs(100));
+    }
+}
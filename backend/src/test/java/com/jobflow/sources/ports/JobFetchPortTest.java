@@ -0,0 +1,31 @@
+package com.jobflow.sources.ports;
+
+import com.jobflow.sources.model.RawJob;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobFetchPortTest {
+
+    @Test
+    void localAnswersAreMarked() {
+        List<RawJob> jobs = List.of(new RawJob("remotive", "Java Developer", "Acme", "", "https://r/1", null, null));
+        CompletableFuture<List<RawJob>> local = JobFetchPort.answeredLocally(jobs);
+
+        assertTrue(local.isDone());
+        assertEquals(jobs, local.join());
+        assertTrue(JobFetchPort.isAnsweredLocally(local));
+    }
+
+    @Test
+    void upstreamCallsAndChainedStagesAreNot() {
+        assertFalse(JobFetchPort.isAnsweredLocally(CompletableFuture.completedFuture(List.of())));
+        CompletableFuture<List<RawJob>> chained = JobFetchPort.answeredLocally(List.of()).thenApply(l -> l);
+        assertFalse(JobFetchPort.isAnsweredLocally(chained));
+    }
+}
@@ -0,0 +1,48 @@
+package com.jobflow.sources.query;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryCanonicalizerTest {
+
+    private final QueryCanonicalizer canonicalizer = new QueryCanonicalizer(new QueryProperties());
+
+    @Test
+    void spellingsShareOneKey() {
+        CanonicalQuery a = canonicalizer.canonicalize("Java Developers", "Bengaluru", false);
+        CanonicalQuery b = canonicalizer.canonicalize("  developer   java ", "bangalore", false);
+        CanonicalQuery c = canonicalizer.canonicalize("Java Dev", "BLR", false);
+
+        assertEquals("developer java|bangalore|false", a.key());
+        assertEquals(a.key(), b.key());
+        assertEquals(a.key(), c.key());
+    }
+
+    @Test
+    void sourcesGetTheUsersText() {
+        CanonicalQuery q = canonicalizer.canonicalize("  Golang   Programmer ", " Bengaluru ", true);
+
+        assertEquals("Golang Programmer", q.title());
+        assertEquals("Bengaluru", q.location());
+        assertEquals("developer go|bangalore|true", q.key());
+    }
+
+    @Test
+    void stemmingOnlyAffectsTheKey() {
+        for (String title : new String[] {"MLOps", "Postgres DBA", "Ruby on Rails", "Pandas"}) {
+            assertEquals(title, canonicalizer.canonicalize(title, "", false).title());
+        }
+        assertEquals("dba postgre||false", canonicalizer.canonicalize("Postgres DBA", "", false).key());
+    }
+
+    @Test
+    void withoutCanonicalisationTheKeyIsTheLowercasedText() {
+        QueryProperties props = new QueryProperties();
+        props.setCanonicalize(false);
+        CanonicalQuery q = new QueryCanonicalizer(props).canonicalize(" Java  Dev ", "Pune", false);
+
+        assertEquals("Java Dev", q.title());
+        assertEquals("java dev|pune|false", q.key());
+    }
+}